@@ -0,0 +1,23 @@
+package com.rain.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point for the whole suite. Every benchmark reports throughput and
+// sampled latency (p50/p90/p99/p99.9 ...), and the gc profiler adds the
+// allocation rate normalised per operation (gc.alloc.rate.norm).
+//
+// Usage: BenchmarkRunner [regex] e.g. BenchmarkRunner BinaryHeap
+public class BenchmarkRunner {
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : "com\\.rain\\.benchmark\\..*";
+		Options opt = new OptionsBuilder()
+			.include(include)
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(opt).run();
+	}
+}
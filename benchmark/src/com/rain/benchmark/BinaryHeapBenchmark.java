@@ -0,0 +1,85 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.priorityqueue.BinaryHeap;
+import com.rain.datastructure.priorityqueue.BinaryHeapQuickRemovals;
+
+// Peek reads mixed with add+poll writes on both heaps, plus removal of an
+// arbitrary element which is where the two implementations differ
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BinaryHeapBenchmark {
+	@Param({"1000", "100000", "10000000"})
+	int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private BinaryHeap<Integer> heap;
+	private BinaryHeapQuickRemovals<Integer> quickHeap;
+	private Integer[] probes;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		Integer[] elems = Workload.boxed(keys);
+		heap = new BinaryHeap<>(elems);
+		quickHeap = new BinaryHeapQuickRemovals<>(elems);
+
+		probes = Workload.boxed(Workload.probes(keys, Workload.SEED + 1));
+		reads = Workload.reads(readPercent, Workload.SEED + 2);
+	}
+
+	@Benchmark
+	public Integer mixed(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return heap.peek();
+		heap.add(probes[i]);
+		return heap.poll();
+	}
+
+	@Benchmark
+	public Integer mixedQuickRemovals(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return quickHeap.peek();
+		quickHeap.add(probes[i]);
+		return quickHeap.poll();
+	}
+
+	@Benchmark
+	public boolean removeAdd(){
+		Integer key = probes[cursor++ & Workload.MASK];
+		heap.add(key);
+		return heap.remove(key);
+	}
+
+	@Benchmark
+	public boolean removeAddQuickRemovals(){
+		Integer key = probes[cursor++ & Workload.MASK];
+		quickHeap.add(key);
+		return quickHeap.remove(key);
+	}
+}
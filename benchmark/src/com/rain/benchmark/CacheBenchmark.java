@@ -0,0 +1,70 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.cache.Cache;
+
+// get() on a Zipfian key trace, followed by put() on a miss, against each
+// eviction policy. This measures the cost of the bookkeeping; the hit rate
+// each policy gets on the same traces is printed by CacheHitRateReport.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CacheBenchmark {
+	// Number of distinct keys in the trace
+	static final int KEY_SPACE = 1_000_000;
+
+	// The trace repeats every OPS requests, keep the cache well below the
+	// number of distinct keys in it
+	@Param({"1000", "10000"})
+	int maximumSize;
+
+	@Param({"0.8", "0.99", "1.2"})
+	double skew;
+
+	@Param({"LRU", "LFU", "TINY_LFU"})
+	Cache.Policy policy;
+
+	private Cache<Integer, Integer> cache;
+	private Integer[] trace;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		trace = Workload.boxed(Workload.zipf(KEY_SPACE, skew, Workload.OPS, Workload.SEED));
+		cache = Cache.create(policy, maximumSize);
+
+		// Warm the cache up with one pass over the trace
+		for(Integer key : trace) getOrLoad(key);
+	}
+
+	@Benchmark
+	public Integer getOrLoad(){
+		return getOrLoad(trace[cursor++ & Workload.MASK]);
+	}
+
+	private Integer getOrLoad(Integer key){
+		Integer value = cache.get(key);
+		if(value == null){
+			value = key;
+			cache.put(key, value);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,41 @@
+package com.rain.benchmark;
+
+import com.rain.datastructure.cache.Cache;
+import com.rain.datastructure.cache.StripedCache;
+
+// Prints the hit rate of each eviction policy on Zipfian traces of several
+// skews, for a few cache sizes. Every cache sees the same trace, and the
+// first half of it only warms the cache up.
+//
+// Usage: CacheHitRateReport [traceLength] (default 10000000)
+public class CacheHitRateReport {
+	private static final int[] SIZES = {1000, 10000, 100000};
+	private static final double[] SKEWS = {0.6, 0.8, 0.99, 1.2};
+
+	public static void main(String[] args){
+		int length = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+		System.out.printf("%-8s %-8s %-10s %8s%n", "skew", "size", "policy", "hitRate");
+		for(double skew : SKEWS){
+			int[] trace = Workload.zipf(CacheBenchmark.KEY_SPACE, skew, length, Workload.SEED);
+			for(int size : SIZES){
+				for(Cache.Policy policy : Cache.Policy.values()){
+					report(skew, size, policy.name(), Cache.create(policy, size), trace);
+				}
+				report(skew, size, "STRIPED", new StripedCache<>(Cache.Policy.TINY_LFU, size), trace);
+			}
+		}
+	}
+
+	private static void report(double skew, int size, String name, Cache<Integer, Integer> cache, int[] trace){
+		int warmUp = trace.length / 2;
+		long hits = 0;
+		for(int i = 0; i < trace.length; i++){
+			Integer key = trace[i];
+			boolean hit = cache.get(key) != null;
+			if(!hit) cache.put(key, key);
+			else if(i >= warmUp) hits++;
+		}
+		System.out.printf("%-8.2f %-8d %-10s %8.4f%n", skew, size, name, (double) hits / (trace.length - warmUp));
+	}
+}
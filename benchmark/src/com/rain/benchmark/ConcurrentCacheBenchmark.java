@@ -0,0 +1,74 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.cache.Cache;
+import com.rain.datastructure.cache.StripedCache;
+
+// Every thread does get() and put() on a miss against one shared cache, with
+// keys from a Zipfian trace. StripedCache is compared with a single cache
+// behind a global lock. Sweep the thread count with
+// ContentionRunner ConcurrentCacheBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentCacheBenchmark {
+	@Param({"10000"})
+	int maximumSize;
+
+	@Param({"0.8", "0.99"})
+	double skew;
+
+	@Param({"LRU", "TINY_LFU"})
+	Cache.Policy policy;
+
+	private Cache<Integer, Integer> striped;
+	private Cache<Integer, Integer> locked;
+	private Integer[] trace;
+
+	@Setup(Level.Iteration)
+	public void setUp(){
+		trace = Workload.boxed(Workload.zipf(CacheBenchmark.KEY_SPACE, skew, Workload.OPS, Workload.SEED));
+		striped = new StripedCache<>(policy, maximumSize);
+		locked = Cache.create(policy, maximumSize);
+	}
+
+	@Benchmark
+	public Integer striped(){
+		return getOrLoad(striped, trace[ThreadLocalRandom.current().nextInt(Workload.OPS)]);
+	}
+
+	@Benchmark
+	public Integer globalLock(){
+		Integer key = trace[ThreadLocalRandom.current().nextInt(Workload.OPS)];
+		synchronized(locked){
+			return getOrLoad(locked, key);
+		}
+	}
+
+	private static Integer getOrLoad(Cache<Integer, Integer> cache, Integer key){
+		Integer value = cache.get(key);
+		if(value == null){
+			value = key;
+			cache.put(key, value);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,71 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.priorityqueue.BinaryHeap;
+import com.rain.datastructure.priorityqueue.MultiQueue;
+
+// Every thread adds a random element then polls one from a shared queue
+// prefilled with 'size' elements. MultiQueue in both modes is compared with
+// one BinaryHeap behind a global lock. Sweep the thread count with
+// ContentionRunner ConcurrentPriorityQueue.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentPriorityQueueBenchmark {
+	@Param({"100000", "1000000"})
+	int size;
+
+	@Param({"STRICT", "RELAXED"})
+	MultiQueue.Mode mode;
+
+	private MultiQueue<Integer> multiQueue;
+	private BinaryHeap<Integer> locked;
+	private Integer[] values;
+
+	@Setup(Level.Iteration)
+	public void setUp(){
+		int[] keys = KeyDistribution.RANDOM.keys(size, Workload.SEED);
+		values = Workload.boxed(Workload.probes(keys, Workload.SEED + 1));
+
+		multiQueue = new MultiQueue<>(mode);
+		locked = new BinaryHeap<>(size);
+		for(int key : keys){
+			multiQueue.add(key);
+			locked.add(key);
+		}
+	}
+
+	@Benchmark
+	public Integer multiQueue(){
+		multiQueue.add(values[ThreadLocalRandom.current().nextInt(Workload.OPS)]);
+		return multiQueue.poll();
+	}
+
+	// Doesn't depend on the mode, so only worth reading for one of them
+	@Benchmark
+	public Integer globalLock(){
+		Integer value = values[ThreadLocalRandom.current().nextInt(Workload.OPS)];
+		synchronized(locked){
+			locked.add(value);
+			return locked.poll();
+		}
+	}
+}
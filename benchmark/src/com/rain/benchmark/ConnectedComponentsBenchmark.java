@@ -0,0 +1,69 @@
+package com.rain.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.unionfind.ConnectedComponents;
+import com.rain.datastructure.unionfind.UnionFind;
+
+// Full connected components runs over a random edge list: the fork/join
+// engine against unifying every edge into a single-threaded UnionFind.
+// Both end by resolving the component of every vertex.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+public class ConnectedComponentsBenchmark {
+	@Param({"1000000", "10000000", "100000000"})
+	int vertices;
+
+	// Edges per vertex
+	@Param({"1", "4"})
+	int degree;
+
+	private int[] p, q;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		long m = (long) vertices * degree;
+		if(m > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges: " + m);
+
+		SplittableRandom rnd = new SplittableRandom(Workload.SEED);
+		p = new int[(int) m];
+		q = new int[(int) m];
+		for(int i = 0; i < m; i++){
+			p[i] = rnd.nextInt(vertices);
+			q[i] = rnd.nextInt(vertices);
+		}
+	}
+
+	@Benchmark
+	public int[] parallelEngine(){
+		return ConnectedComponents.of(vertices, p, q).labels();
+	}
+
+	@Benchmark
+	public int[] singleThreadedUnionFind(){
+		UnionFind uf = new UnionFind(vertices);
+		for(int i = 0; i < p.length; i++) uf.unify(p[i], q[i]);
+
+		int[] roots = new int[vertices];
+		for(int v = 0; v < vertices; v++) roots[v] = uf.find(v);
+		return roots;
+	}
+}
@@ -0,0 +1,28 @@
+package com.rain.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the symmetric contention benchmarks once per thread count.
+// JMH can't take the thread count as a @Param, so sweep it here.
+//
+// Usage: ContentionRunner [regex] e.g. ContentionRunner MpmcQueue
+public class ContentionRunner {
+	private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : "MpmcQueueBenchmark";
+		for(int threads : THREADS){
+			Options opt = new OptionsBuilder()
+				.include(include)
+				.threads(threads)
+				.result("contention-" + threads + ".json")
+				.resultFormat(ResultFormatType.JSON)
+				.build();
+			new Runner(opt).run();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.priorityqueue.BinaryHeap;
+import com.rain.datastructure.priorityqueue.DaryHeap;
+
+// Push-heavy (75% add) and pop-heavy (25% add) mixes on d-ary heaps of
+// arity 2, 4 and 8, with the List based BinaryHeap as the baseline. The
+// heaps are rebuilt every iteration so the push-heavy runs don't keep growing.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class DaryHeapBenchmark {
+	@Param({"100000", "1000000", "10000000"})
+	int size;
+
+	@Param({"2", "4", "8"})
+	int arity;
+
+	@Param({"75", "25"})
+	int pushPercent;
+
+	private Integer[] elems;
+	private Integer[] values;
+	private boolean[] pushes;
+	private DaryHeap<Integer> dary;
+	private BinaryHeap<Integer> binary;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTrial(){
+		int[] keys = KeyDistribution.RANDOM.keys(size, Workload.SEED);
+		elems = Workload.boxed(keys);
+		values = Workload.boxed(Workload.probes(keys, Workload.SEED + 1));
+		pushes = Workload.reads(pushPercent, Workload.SEED + 2);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration(){
+		dary = new DaryHeap<>(arity, elems);
+		binary = new BinaryHeap<>(elems);
+		cursor = 0;
+	}
+
+	@Benchmark
+	public Integer daryHeap(){
+		int i = cursor++ & Workload.MASK;
+		if(pushes[i] || dary.isEmpty()){
+			dary.add(values[i]);
+			return null;
+		}
+		return dary.poll();
+	}
+
+	@Benchmark
+	public Integer binaryHeap(){
+		int i = cursor++ & Workload.MASK;
+		if(pushes[i] || binary.isEmpty()){
+			binary.add(values[i]);
+			return null;
+		}
+		return binary.poll();
+	}
+}
@@ -0,0 +1,81 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.binarysearchtree.AVLTree;
+import com.rain.datastructure.binarysearchtree.BinarySearchTree;
+
+// BinarySearchTreeBenchmark on SORTED and REVERSED keys, which degrade the
+// unbalanced tree into a linked list: building it is O(n^2) and every
+// operation recurses n deep, so the sizes stay small. The AVL tree runs the
+// same workload for comparison.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xss256m"})
+public class DegenerateTreeBenchmark {
+	@Param({"1000", "10000"})
+	int size;
+
+	@Param({"SORTED", "REVERSED"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private BinarySearchTree<Integer> tree;
+	private AVLTree<Integer> avl;
+	private Integer[] probes;
+	private Integer[] misses;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		tree = new BinarySearchTree<>();
+		avl = new AVLTree<>();
+		for(int key : keys){
+			tree.add(key);
+			avl.add(key);
+		}
+
+		probes = Workload.boxed(Workload.probes(keys, Workload.SEED + 1));
+		reads = Workload.reads(readPercent, Workload.SEED + 2);
+
+		// Keys outside every distribution's range so writes always insert
+		misses = new Integer[Workload.OPS];
+		for(int i = 0; i < Workload.OPS; i++) misses[i] = size + 1 + i;
+	}
+
+	@Benchmark
+	public boolean mixed(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return tree.contains(probes[i]);
+		tree.add(misses[i]);
+		return tree.remove(misses[i]);
+	}
+
+	@Benchmark
+	public boolean mixedAVL(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return avl.contains(probes[i]);
+		avl.add(misses[i]);
+		return avl.remove(misses[i]);
+	}
+}
@@ -0,0 +1,100 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.DynamicArray;
+import com.rain.datastructure.IntArrayList;
+
+// Random access reads mixed with append/remove-last writes on a DynamicArray
+// and an IntArrayList, each prefilled with 'size' elements, plus a full
+// scan of both
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class DynamicArrayBenchmark {
+	@Param({"1000", "100000", "10000000"})
+	int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private DynamicArray<Integer> array;
+	private IntArrayList intArray;
+	private int[] indices;
+	private int[] intValues;
+	private Integer[] values;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		array = new DynamicArray<>();
+		for(int key : keys) array.add(key);
+		intArray = new IntArrayList();
+		intArray.addAll(keys);
+
+		indices = Workload.indices(size, Workload.SEED + 1);
+		intValues = Workload.probes(keys, Workload.SEED + 2);
+		values = Workload.boxed(intValues);
+		reads = Workload.reads(readPercent, Workload.SEED + 3);
+	}
+
+	@Benchmark
+	public Integer mixed(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return array.get(indices[i]);
+		array.add(values[i]);
+		return array.remove(array.size() - 1);
+	}
+
+	@Benchmark
+	public Integer removeMiddle(){
+		int i = cursor++ & Workload.MASK;
+		array.add(values[i]);
+		return array.remove(array.size() / 2);
+	}
+
+	@Benchmark
+	public int mixedInt(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return intArray.get(indices[i]);
+		intArray.add(intValues[i]);
+		return intArray.removeAt(intArray.size() - 1);
+	}
+
+	@Benchmark
+	public long scan(){
+		long sum = 0;
+		for(int i = 0; i < array.size(); i++) sum += array.get(i);
+		return sum;
+	}
+
+	// Reads the backing array directly, the way a tight loop would
+	@Benchmark
+	public long scanInt(){
+		int[] elems = intArray.elements();
+		long sum = 0;
+		for(int i = 0, n = intArray.size(); i < n; i++) sum += elems[i];
+		return sum;
+	}
+}
@@ -0,0 +1,75 @@
+package com.rain.benchmark;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.rain.datastructure.DoublyLinkedList;
+import com.rain.datastructure.SinglyLinkedList;
+import com.rain.datastructure.UnrolledLinkedList;
+import com.rain.datastructure.binarysearchtree.AVLTree;
+import com.rain.datastructure.binarysearchtree.BinarySearchTree;
+import com.rain.datastructure.btree.BTree;
+import com.rain.datastructure.btree.IntBTree;
+import com.rain.datastructure.btree.LongBTree;
+import com.rain.datastructure.priorityqueue.BinaryHeapQuickRemovals;
+
+// Prints the retained heap size per entry of each ordered set, linked list
+// and the quick removal heap, measured by walking the object graph with JOL. Boxed keys are
+// counted as part of the structure since that's what the generic
+// structures really cost.
+//
+// Usage: FootprintReport [size] (default 10000000), run with a large -Xmx
+public class FootprintReport {
+	public static void main(String[] args){
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int[] keys = KeyDistribution.RANDOM.keys(size, Workload.SEED);
+
+		BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+		for(int key : keys) bst.add(key);
+		report("BinarySearchTree", bst, size);
+		bst = null;
+
+		AVLTree<Integer> avl = new AVLTree<>();
+		for(int key : keys) avl.add(key);
+		report("AVLTree", avl, size);
+		avl = null;
+
+		BTree<Integer> btree = new BTree<>();
+		for(int key : keys) btree.add(key);
+		report("BTree", btree, size);
+		btree = null;
+
+		IntBTree intBTree = new IntBTree();
+		for(int key : keys) intBTree.add(key);
+		report("IntBTree", intBTree, size);
+		intBTree = null;
+
+		LongBTree longBTree = new LongBTree();
+		for(int key : keys) longBTree.add(key);
+		report("LongBTree", longBTree, size);
+		longBTree = null;
+
+		SinglyLinkedList<Integer> singly = new SinglyLinkedList<>();
+		for(int key : keys) singly.addLast(key);
+		report("SinglyLinkedList", singly, size);
+		singly = null;
+
+		DoublyLinkedList<Integer> doubly = new DoublyLinkedList<>();
+		for(int key : keys) doubly.addLast(key);
+		report("DoublyLinkedList", doubly, size);
+		doubly = null;
+
+		UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+		for(int key : keys) unrolled.addLast(key);
+		report("UnrolledLinkedList", unrolled, size);
+		unrolled = null;
+
+		BinaryHeapQuickRemovals<Integer> quickHeap = new BinaryHeapQuickRemovals<>(size);
+		for(int key : keys) quickHeap.add(key);
+		report("QuickRemovalsHeap", quickHeap, size);
+	}
+
+	private static void report(String name, Object set, int size){
+		long bytes = GraphLayout.parseInstance(set).totalSize();
+		System.out.printf("%-20s %,15d bytes %8.2f bytes/entry%n", name, bytes, (double) bytes / size);
+	}
+}
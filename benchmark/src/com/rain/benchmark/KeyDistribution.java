@@ -0,0 +1,46 @@
+package com.rain.benchmark;
+
+import java.util.SplittableRandom;
+
+// The key orders the benchmarks are run against. RANDOM is the friendly
+// case, SORTED and REVERSED are the adversarial cases for unbalanced trees
+// and heaps, FEW_UNIQUE hammers anything that indexes duplicate values.
+public enum KeyDistribution {
+	RANDOM {
+		@Override
+		public int[] keys(int n, long seed){
+			SplittableRandom rnd = new SplittableRandom(seed);
+			int[] keys = new int[n];
+			for(int i = 0; i < n; i++) keys[i] = rnd.nextInt();
+			return keys;
+		}
+	},
+	SORTED {
+		@Override
+		public int[] keys(int n, long seed){
+			int[] keys = new int[n];
+			for(int i = 0; i < n; i++) keys[i] = i;
+			return keys;
+		}
+	},
+	REVERSED {
+		@Override
+		public int[] keys(int n, long seed){
+			int[] keys = new int[n];
+			for(int i = 0; i < n; i++) keys[i] = n - i;
+			return keys;
+		}
+	},
+	FEW_UNIQUE {
+		@Override
+		public int[] keys(int n, long seed){
+			SplittableRandom rnd = new SplittableRandom(seed);
+			int[] keys = new int[n];
+			for(int i = 0; i < n; i++) keys[i] = rnd.nextInt(16);
+			return keys;
+		}
+	};
+
+	// Generate n keys following this distribution
+	public abstract int[] keys(int n, long seed);
+}
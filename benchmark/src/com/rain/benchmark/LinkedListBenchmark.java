@@ -0,0 +1,104 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.rain.datastructure.DoublyLinkedList;
+import com.rain.datastructure.SinglyLinkedList;
+import com.rain.datastructure.UnrolledLinkedList;
+
+// Scan throughput of the node-per-element lists against the unrolled list,
+// each prefilled with 'size' elements: indexOf of a random element, a full
+// iteration, and removeAt+addLast at a random index. The per-element memory
+// of each list is printed by FootprintReport.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class LinkedListBenchmark {
+	// Every operation here is a linear walk, so the sizes stop short of the
+	// other benchmarks
+	@Param({"1000", "100000", "1000000"})
+	int size;
+
+	@Param({"RANDOM", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"16", "64", "256"})
+	int nodeCapacity;
+
+	private SinglyLinkedList<Integer> singly;
+	private DoublyLinkedList<Integer> doubly;
+	private UnrolledLinkedList<Integer> unrolled;
+	private Integer[] probes;
+	private int[] indices;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		singly = new SinglyLinkedList<>();
+		doubly = new DoublyLinkedList<>();
+		unrolled = new UnrolledLinkedList<>(nodeCapacity);
+		for(int key : keys){
+			Integer boxed = key;
+			singly.addLast(boxed);
+			doubly.addLast(boxed);
+			unrolled.addLast(boxed);
+		}
+
+		probes = Workload.boxed(Workload.probes(keys, Workload.SEED + 1));
+		indices = Workload.indices(size, Workload.SEED + 2);
+	}
+
+	@Benchmark
+	public int indexOfSingly(){
+		return singly.indexOf(probes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public int indexOfDoubly(){
+		return doubly.indexOf(probes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public int indexOfUnrolled(){
+		return unrolled.indexOf(probes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public void iterateDoubly(Blackhole bh){
+		for(Integer value : doubly) bh.consume(value);
+	}
+
+	@Benchmark
+	public void iterateUnrolled(Blackhole bh){
+		for(Integer value : unrolled) bh.consume(value);
+	}
+
+	// Remove at a random index and put it back on the end so the size holds
+	@Benchmark
+	public void removeAtDoubly(){
+		doubly.addLast(doubly.removeAt(indices[cursor++ & Workload.MASK]));
+	}
+
+	@Benchmark
+	public void removeAtUnrolled(){
+		unrolled.addLast(unrolled.removeAt(indices[cursor++ & Workload.MASK]));
+	}
+}
@@ -0,0 +1,58 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.queue.ArrayQueue;
+import com.rain.datastructure.queue.MpmcArrayQueue;
+
+// Every thread offers then polls one element against a shared queue, so all
+// threads are producers and consumers at once. The thread count comes from
+// the runner, see ContentionRunner which sweeps it from 1 to 64.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MpmcQueueBenchmark {
+	private static final Integer ELEM = 42;
+
+	@Param({"1024", "65536"})
+	int capacity;
+
+	private MpmcArrayQueue<Integer> mpmc;
+	private ArrayQueue<Integer> locked;
+
+	@Setup(Level.Iteration)
+	public void setUp(){
+		mpmc = new MpmcArrayQueue<>(capacity);
+		locked = new ArrayQueue<>(capacity);
+	}
+
+	@Benchmark
+	public Integer mpmc(){
+		mpmc.tryOffer(ELEM);
+		return mpmc.tryPoll();
+	}
+
+	@Benchmark
+	public Integer synchronizedArrayQueue(){
+		synchronized(locked){
+			locked.offer(ELEM);
+			return locked.poll();
+		}
+	}
+}
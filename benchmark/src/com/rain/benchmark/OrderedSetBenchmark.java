@@ -0,0 +1,88 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.binarysearchtree.AVLTree;
+import com.rain.datastructure.binarysearchtree.BinarySearchTree;
+import com.rain.datastructure.btree.BTree;
+import com.rain.datastructure.btree.IntBTree;
+
+// Lookup latency of the pointer-per-node trees against the B-trees on large
+// sets of random keys. Half of the probes hit and half miss. Run
+// FootprintReport for the bytes per entry of the same structures.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+public class OrderedSetBenchmark {
+	@Param({"10000000", "50000000"})
+	int size;
+
+	@Param({"16", "32", "64"})
+	int minDegree;
+
+	private BinarySearchTree<Integer> bst;
+	private AVLTree<Integer> avl;
+	private BTree<Integer> btree;
+	private IntBTree intBTree;
+	private int[] probes;
+	private Integer[] boxedProbes;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		// Even keys are in the sets, odd probes miss
+		int[] keys = KeyDistribution.RANDOM.keys(size, Workload.SEED);
+		for(int i = 0; i < size; i++) keys[i] &= ~1;
+
+		bst = new BinarySearchTree<>();
+		avl = new AVLTree<>();
+		btree = new BTree<>(minDegree);
+		intBTree = new IntBTree(minDegree);
+		for(int key : keys){
+			bst.add(key);
+			avl.add(key);
+			btree.add(key);
+			intBTree.add(key);
+		}
+
+		probes = Workload.probes(keys, Workload.SEED + 1);
+		for(int i = 1; i < probes.length; i += 2) probes[i] |= 1;
+		boxedProbes = Workload.boxed(probes);
+	}
+
+	@Benchmark
+	public boolean binarySearchTree(){
+		return bst.contains(boxedProbes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public boolean avlTree(){
+		return avl.contains(boxedProbes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public boolean bTree(){
+		return btree.contains(boxedProbes[cursor++ & Workload.MASK]);
+	}
+
+	@Benchmark
+	public boolean intBTree(){
+		return intBTree.contains(probes[cursor++ & Workload.MASK]);
+	}
+}
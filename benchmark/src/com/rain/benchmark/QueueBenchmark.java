@@ -0,0 +1,88 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.queue.ArrayQueue;
+import com.rain.datastructure.queue.IntQueue;
+import com.rain.datastructure.queue.LinkedQueue;
+
+// peek() reads mixed with offer+poll writes on every queue, each prefilled
+// with 'size' elements so a poll always has to dequeue from a full queue
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class QueueBenchmark {
+	@Param({"1000", "100000", "10000000"})
+	int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private ArrayQueue<Integer> arrayQueue;
+	private LinkedQueue<Integer> linkedQueue;
+	private IntQueue intQueue;
+	private int[] values;
+	private Integer[] boxedValues;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		arrayQueue = new ArrayQueue<>();
+		linkedQueue = new LinkedQueue<>();
+		intQueue = new IntQueue(size + 1);
+		for(int key : keys){
+			arrayQueue.offer(key);
+			linkedQueue.offer(key);
+			intQueue.offer(key);
+		}
+
+		values = Workload.probes(keys, Workload.SEED + 1);
+		boxedValues = Workload.boxed(values);
+		reads = Workload.reads(readPercent, Workload.SEED + 2);
+	}
+
+	@Benchmark
+	public Integer arrayQueue(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return arrayQueue.peek();
+		arrayQueue.offer(boxedValues[i]);
+		return arrayQueue.poll();
+	}
+
+	@Benchmark
+	public Integer linkedQueue(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return linkedQueue.peek();
+		linkedQueue.offer(boxedValues[i]);
+		return linkedQueue.poll();
+	}
+
+	@Benchmark
+	public int intQueue(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return intQueue.peek();
+		intQueue.offer(values[i]);
+		return intQueue.poll();
+	}
+}
@@ -0,0 +1,81 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.queue.ArrayQueue;
+import com.rain.datastructure.queue.SpscArrayQueue;
+
+// One producer thread handing elements to one consumer thread, through the
+// lock-free SPSC ring and through a synchronized ArrayQueue for comparison.
+// A failed offer/poll (full/empty) still counts as an operation, so compare
+// the producer and consumer scores rather than just the group total.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpscQueueBenchmark {
+	private static final Integer ELEM = 42;
+
+	@Param({"1024", "65536"})
+	int capacity;
+
+	private SpscArrayQueue<Integer> spsc;
+	private ArrayQueue<Integer> locked;
+
+	@Setup(Level.Iteration)
+	public void setUp(){
+		spsc = new SpscArrayQueue<>(capacity);
+		locked = new ArrayQueue<>(capacity);
+	}
+
+	@Benchmark
+	@Group("spsc")
+	@GroupThreads(1)
+	public boolean spscOffer(){
+		return spsc.tryOffer(ELEM);
+	}
+
+	@Benchmark
+	@Group("spsc")
+	@GroupThreads(1)
+	public Integer spscPoll(){
+		return spsc.tryPoll();
+	}
+
+	@Benchmark
+	@Group("synchronized")
+	@GroupThreads(1)
+	public boolean lockedOffer(){
+		synchronized(locked){
+			if(locked.size() == capacity) return false;
+			locked.offer(ELEM);
+			return true;
+		}
+	}
+
+	@Benchmark
+	@Group("synchronized")
+	@GroupThreads(1)
+	public Integer lockedPoll(){
+		synchronized(locked){
+			return locked.isEmpty() ? null : locked.poll();
+		}
+	}
+}
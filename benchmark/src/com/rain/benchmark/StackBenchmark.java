@@ -0,0 +1,88 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.ArrayStack;
+import com.rain.datastructure.IntStack;
+import com.rain.datastructure.ListStack;
+
+// peek() reads mixed with push+pop writes on every stack, each prefilled
+// with 'size' elements
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class StackBenchmark {
+	@Param({"1000", "100000", "10000000"})
+	int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private ArrayStack<Integer> arrayStack;
+	private ListStack<Integer> listStack;
+	private IntStack intStack;
+	private int[] values;
+	private Integer[] boxedValues;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		arrayStack = new ArrayStack<>();
+		listStack = new ListStack<>();
+		intStack = new IntStack(size + 1);
+		for(int key : keys){
+			arrayStack.push(key);
+			listStack.push(key);
+			intStack.push(key);
+		}
+
+		values = Workload.probes(keys, Workload.SEED + 1);
+		boxedValues = Workload.boxed(values);
+		reads = Workload.reads(readPercent, Workload.SEED + 2);
+	}
+
+	@Benchmark
+	public Integer arrayStack(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return arrayStack.peek();
+		arrayStack.push(boxedValues[i]);
+		return arrayStack.pop();
+	}
+
+	@Benchmark
+	public Integer listStack(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return listStack.peek();
+		listStack.push(boxedValues[i]);
+		return listStack.pop();
+	}
+
+	@Benchmark
+	public int intStack(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return intStack.peek();
+		intStack.push(values[i]);
+		return intStack.pop();
+	}
+}
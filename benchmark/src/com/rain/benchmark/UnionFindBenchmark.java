@@ -0,0 +1,67 @@
+package com.rain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rain.datastructure.unionfind.UnionFind;
+
+// connected() reads mixed with unify() writes. The edge endpoints follow the
+// key distribution, so SORTED builds long chains before compression kicks in.
+// The union find is rebuilt every iteration since unify only ever merges.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class UnionFindBenchmark {
+	@Param({"1000", "100000", "10000000", "100000000"})
+	int size;
+
+	@Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+	KeyDistribution distribution;
+
+	@Param({"0", "50", "90", "100"})
+	int readPercent;
+
+	private UnionFind uf;
+	private int[] p, q;
+	private boolean[] reads;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTrial(){
+		int[] keys = distribution.keys(size, Workload.SEED);
+		for(int i = 0; i < size; i++) keys[i] = Math.floorMod(keys[i], size);
+
+		p = Workload.probes(keys, Workload.SEED + 1);
+		q = Workload.probes(keys, Workload.SEED + 2);
+		reads = Workload.reads(readPercent, Workload.SEED + 3);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration(){
+		uf = new UnionFind(size);
+		cursor = 0;
+	}
+
+	@Benchmark
+	public boolean mixed(){
+		int i = cursor++ & Workload.MASK;
+		if(reads[i]) return uf.connected(p[i], q[i]);
+		uf.unify(p[i], q[i]);
+		return true;
+	}
+}
@@ -0,0 +1,67 @@
+package com.rain.benchmark;
+
+import java.util.SplittableRandom;
+
+// Pre-generated operation streams shared by the benchmarks so that no
+// random number generation or boxing happens inside the measured code.
+// Every stream has OPS entries and is walked with (cursor++ & MASK).
+final class Workload {
+	static final long SEED = 0x5DEECE66DL;
+
+	// Length of an operation stream, must be a power of two
+	static final int OPS = 1 << 16;
+	static final int MASK = OPS - 1;
+
+	private Workload(){}
+
+	// OPS keys sampled uniformly from the given keys
+	static int[] probes(int[] keys, long seed){
+		SplittableRandom rnd = new SplittableRandom(seed);
+		int[] probes = new int[OPS];
+		for(int i = 0; i < OPS; i++) probes[i] = keys[rnd.nextInt(keys.length)];
+		return probes;
+	}
+
+	// OPS indices drawn uniformly from [0, n)
+	static int[] indices(int n, long seed){
+		SplittableRandom rnd = new SplittableRandom(seed);
+		int[] indices = new int[OPS];
+		for(int i = 0; i < OPS; i++) indices[i] = rnd.nextInt(n);
+		return indices;
+	}
+
+	// OPS read/write flags where roughly readPercent of them are reads
+	static boolean[] reads(int readPercent, long seed){
+		SplittableRandom rnd = new SplittableRandom(seed);
+		boolean[] reads = new boolean[OPS];
+		for(int i = 0; i < OPS; i++) reads[i] = rnd.nextInt(100) < readPercent;
+		return reads;
+	}
+
+	// 'length' keys in [0, n) drawn from a Zipf distribution, key k having
+	// probability proportional to 1/(k+1)^skew. Skews around 0.7-1.0 match
+	// typical web and storage cache traces.
+	static int[] zipf(int n, double skew, int length, long seed){
+		double[] cdf = new double[n];
+		double sum = 0;
+		for(int k = 0; k < n; k++){
+			sum += 1.0 / Math.pow(k + 1, skew);
+			cdf[k] = sum;
+		}
+
+		SplittableRandom rnd = new SplittableRandom(seed);
+		int[] keys = new int[length];
+		for(int i = 0; i < length; i++){
+			int k = java.util.Arrays.binarySearch(cdf, rnd.nextDouble() * sum);
+			keys[i] = Math.min(k < 0 ? -k - 1 : k, n - 1);
+		}
+		return keys;
+	}
+
+	// Box the values once up front so the measured loop doesn't allocate
+	static Integer[] boxed(int[] values){
+		Integer[] boxed = new Integer[values.length];
+		for(int i = 0; i < values.length; i++) boxed[i] = values[i];
+		return boxed;
+	}
+}
@@ -1,12 +1,30 @@
+package com.rain.datastructure;
+
+// An array backed stack. The array doubles when full and halves once the
+// stack drops to a quarter of it, so a burst of pushes doesn't pin a huge
+// array forever. Growing at full and shrinking at a quarter leaves a gap
+// between the two thresholds, so pushing and popping around one size can't
+// make the array resize back and forth (hysteresis).
+public class ArrayStack<T> implements Iterable<T>{
+	private static final int DEFAULT_CAPACITY = 16;
 
-public class ArrayStack<T> implements java.util.Iterable<T>{
 	private Object[] data;
 	private int size = 0;
-	private int capacity = 0;
+
+	// The array never shrinks below this many slots
+	private int minCapacity;
+
+	// Bumped on every push/pop so iterators can fail fast
+	private int modCount = 0;
 
 	public ArrayStack(){
-		capacity = 16;
-		data = new Object[capacity];
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ArrayStack(int capacity){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		minCapacity = Math.max(1, capacity);
+		data = new Object[minCapacity];
 	}
 
 	public int size(){
@@ -17,30 +35,79 @@ public class ArrayStack<T> implements java.util.Iterable<T>{
 		return size() == 0;
 	}
 
+	// Return the number of slots in the backing array
+	public int capacity(){
+		return data.length;
+	}
+
+	// Make sure the stack holds 'capacity' elements without growing. The
+	// array also won't shrink below this until trimToSize() is called.
+	public void ensureCapacity(int capacity){
+		if(capacity > data.length) resize(capacity);
+		minCapacity = Math.max(minCapacity, capacity);
+	}
+
+	// Shrink the array to the current size and forget any ensureCapacity
+	public void trimToSize(){
+		minCapacity = Math.max(1, size);
+		if(data.length > minCapacity) resize(minCapacity);
+	}
+
+	// Push an element on the stack, amortized O(1)
 	public void push(T elem){
-		if(size + 1 >= capacity){
-			if(capacity == 0){
-				capacity = 1;
-			} else {
-				capacity *= 2;
-			}
-			data = java.util.Array(data, capacity);
+		if(size == data.length){
+			if(size == Integer.MAX_VALUE - 8) throw new OutOfMemoryError("Stack too large");
+			resize((int) Math.min(2L * data.length, Integer.MAX_VALUE - 8));
 		}
 
 		data[size++] = elem;
+		modCount++;
 	}
 
+	// Pop an element off the stack, amortized O(1)
 	@SuppressWarnings("unchecked")
 	public T pop(){
-		if(isEmpty()) throw new EmptyStackException();
+		if(isEmpty()) throw new java.util.EmptyStackException();
 		T elem = (T) data[--size];
 		data[size] = null;
+		modCount++;
+
+		// Give the memory of a burst back once we're down to a quarter
+		if(size <= data.length / 4 && data.length / 2 >= minCapacity) resize(data.length / 2);
 		return elem;
 	}
 
 	@SuppressWarnings("unchecked")
 	public T peek(){
-		if(isEmpty()) throw new EmptyStackException();
+		if(isEmpty()) throw new java.util.EmptyStackException();
 		return (T) data[size - 1];
 	}
+
+	private void resize(int capacity){
+		data = java.util.Arrays.copyOf(data, capacity);
+	}
+
+	// Iterate from the top of the stack down, in pop order. The iterator
+	// reads the backing array directly and throws if the stack is pushed
+	// or popped while iterating.
+	@Override
+	public java.util.Iterator<T> iterator(){
+		return new java.util.Iterator<T>(){
+			private final int expectedModCount = modCount;
+			private int index = size - 1;
+
+			@Override
+			public boolean hasNext(){
+				if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
+				return index >= 0;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next(){
+				if(!hasNext()) throw new java.util.NoSuchElementException();
+				return (T) data[index--];
+			}
+		};
+	}
 }
@@ -1,21 +1,80 @@
-public class DoublyLinkedList <T> implements Itrable <T> {
+package com.rain.datastructure;
+
+// A doubly linked list that hands out its nodes as handles. Code that keeps
+// the Node returned by addFirst/addLast/insertBefore/insertAfter can later
+// remove, reorder or insert next to that element in O(1), without an
+// indexOf/removeAt scan. A handle is only valid for the list that currently
+// holds it, and only until it is removed. Passing a removed node or one of
+// another list throws IllegalArgumentException.
+public class DoublyLinkedList <T> implements Iterable <T> {
 	private int size = 0;
 	private Node <T> head = null;	// head node
 	private Node <T> tail = null;	// tail node
 
-	// Internal node class to represent	data
-	private class Node <T> {
-		T data;
-		Node <T> prev, next;
-		public Node(T data, Node <T> prev, Node <T> next){
+	// Every node points at an Owner that leads to the list holding it.
+	// Splicing a whole list forwards its Owner to the receiving list's one,
+	// so all its nodes change lists in O(1) without being visited. Chains of
+	// forwarded Owners are shortened as they are followed, like union find.
+	private static final class Owner <T> {
+		DoublyLinkedList <T> list;	// null once forwarded
+		Owner <T> forward;
+
+		Owner(DoublyLinkedList <T> list){
+			this.list = list;
+		}
+
+		Owner <T> resolve(){
+			Owner <T> root = this;
+			while(root.forward != null) root = root.forward;
+			Owner <T> trav = this;
+			while(trav != root){
+				Owner <T> next = trav.forward;
+				trav.forward = root;
+				trav = next;
+			}
+			return root;
+		}
+	}
+	private Owner <T> owner = new Owner <>(this);
+
+	// Bumped on every structural change so iterators can fail fast
+	private int modCount = 0;
+
+	// A node of the list, also used as a handle to its element
+	public static final class Node <T> {
+		private T data;
+		private Node <T> prev, next;
+		private Owner <T> owner;	// null once the node is removed
+		private Node(Owner <T> owner, T data, Node <T> prev, Node <T> next){
+			this.owner = owner;
 			this.data = data;
 			this.prev = prev;
 			this.next = next;
 		}
-		
+
+		// Return the element held by this node
+		public T getData(){
+			return data;
+		}
+
+		// Replace the element held by this node, the node stays in place
+		public void setData(T data){
+			this.data = data;
+		}
+
+		// Return the next node towards the tail, or null at the tail
+		public Node <T> next(){
+			return next;
+		}
+
+		// Return the previous node towards the head, or null at the head
+		public Node <T> prev(){
+			return prev;
+		}
+
 		@Override
 		public String toString(){
-			return data.toString();
+			return String.valueOf(data);
 		}
 	}
 
@@ -26,56 +85,97 @@ public class DoublyLinkedList <T> implements Itrable <T> {
 			Node <T> next = trav.next;
 			trav.prev = trav.next = null;
 			trav.data = null;
+			trav.owner = null;
+			trav = next;
 		}
 		head = tail = trav = null;
 		size = 0;
-	}	
-	
+		modCount++;
+	}
+
 	// Return the size of this linked list
 	public int size(){
 		return size;
 	}
-	
+
 	// Is this linked list empty?
 	public boolean isEmpty(){
 		return size() == 0;
 	}
 
+	// Return the head node, or null if the list is empty
+	public Node <T> firstNode(){
+		return head;
+	}
+
+	// Return the tail node, or null if the list is empty
+	public Node <T> lastNode(){
+		return tail;
+	}
+
 	// Add an element to the tail of the linked list,O(1)
 	public void add(T elem){
 		addLast(elem);
 	}
-	
-	// Add an element to the head of this linked list,O(1)
-	public void addFirst(T elem){
+
+	// Add an element to the head of this linked list and return its node,O(1)
+	public Node <T> addFirst(T elem){
 		// The linked list is empty
 		if(isEmpty()){
-			head = tail = new Node(T elem, null, null);
+			head = tail = new Node <>(owner, elem, null, null);
 		} else {
-			head.prev = new Node(T elem, null, head);
+			head.prev = new Node <>(owner, elem, null, head);
 			head = head.prev;
 		}
 		size++;
+		modCount++;
+		return head;
 	}
 
-	// Add an element to the tail of this linked list,O(1)
-	public void addLast(T elem){
+	// Add an element to the tail of this linked list and return its node,O(1)
+	public Node <T> addLast(T elem){
 		// The linked list is empty
 		if(isEmpty()){
-			head = tail = new Node(elem, null, null);
+			head = tail = new Node <>(owner, elem, null, null);
 		} else {
-			tail.next = new Node(elem, tail, null);
+			tail.next = new Node <>(owner, elem, tail, null);
 			tail = tail.next;
 		}
 		size++;
+		modCount++;
+		return tail;
+	}
+
+	// Insert an element right before 'node' and return the new node,O(1)
+	public Node <T> insertBefore(Node <T> node, T elem){
+		checkOwned(node);
+		if(node == head) return addFirst(elem);
+		Node <T> added = new Node <>(owner, elem, node.prev, node);
+		node.prev.next = added;
+		node.prev = added;
+		size++;
+		modCount++;
+		return added;
+	}
+
+	// Insert an element right after 'node' and return the new node,O(1)
+	public Node <T> insertAfter(Node <T> node, T elem){
+		checkOwned(node);
+		if(node == tail) return addLast(elem);
+		Node <T> added = new Node <>(owner, elem, node, node.next);
+		node.next.prev = added;
+		node.next = added;
+		size++;
+		modCount++;
+		return added;
 	}
- 
+
 	// Check the value of the first node if it exists,O(1)
 	public T peekFirst(){
 		if(isEmpty()) throw new RuntimeException("Empty list");
 		return head.data;
 	}
-	
+
 	// Check the value of the last node if it exists,O(1)
 	public T peekLast(){
 		if(isEmpty()) throw new RuntimeException("Empty list");
@@ -86,91 +186,157 @@ public class DoublyLinkedList <T> implements Itrable <T> {
 	public T removeFirst(){
 		// The linked list is empty
 		if(isEmpty()) throw new RuntimeException("Empty list");
-		
-		// Extract the data at the head and move
-		// the head pointer forwards one node
-		T data = head.data;
-		head = head.next;
-		--size;
-
-		// If the list is empty set the tail to null as well	
-		if(isEmpty()){
-			tail = null;
-		} else {
-			// Do a memory clean of the previous node
-			head.prev = null;
-		}
-		
-		// Return the first value at the head of the linked list
-		return data;
+		return remove(head);
 	}
 
 	// Remove the last value at the tail of the linked list, O(1)
 	public T removeLast(){
 		// Can't remove empty data from empty list -_-
 		if(isEmpty()) throw new RuntimeException("Empty list");
-
-		// Extract the data at the tail and move
-		// the tail pointer backwards one node
-		T data = tail.data;
-		tail = tail.prev;
-		--size;
-		
-		// If the list is empty set the head to null as well
-		if(isEmpty()){
-			head = null;
-		} else {
-			// Do a memory clean of the previous node
-			tail.next = null;
-		}
-
-		// Return the last value that was at the last node we just remove
-		return data;
+		return remove(tail);
 	}
-	
-	// Remove an arbitrary node from the linked list,O(1) 
-	public T remove(Node <T> node){
-		// If the node to remove is somewhere either at the
-		// head or the tail handle those independently
-		if(node.prev == null) return removeFirst();
-		if(node.next == null) return removeLast();
 
-		// Make the pointers of adjcent nodes skip over 'node'
-		node.prev.next = node.next;
-		node.next.prev = node.prev;
+	// Remove an arbitrary node from the linked list,O(1)
+	public T remove(Node <T> node){
+		checkOwned(node);
+		unlink(node);
+		node.owner = null;
 
 		// Temporary store the data we want to return
 		T data = node.data;
-	
+
 		// Memory clearup
 		node.data = null;
-		node = node.prev = node.next = null;
 
 		--size;
+		modCount++;
 
 		// Return the data at the node we just removed
 		return data;
 	}
 
-	// Remove a node at a particular index,O(n)
-	public T removeAt(int index){
-		// Make sure the index provided is valid
-		if(index < 0 || index >= size) throw new IllegalArgumentException();
+	// Move a node of this list to the head, O(1)
+	public void moveToFront(Node <T> node){
+		checkOwned(node);
+		if(node == head) return;
+		unlink(node);
+		node.next = head;
+		head.prev = node;
+		head = node;
+		modCount++;
+	}
+
+	// Move a node of this list to the tail, O(1)
+	public void moveToBack(Node <T> node){
+		checkOwned(node);
+		if(node == tail) return;
+		unlink(node);
+		node.prev = tail;
+		tail.next = node;
+		tail = node;
+		modCount++;
+	}
+
+	// Move the nodes from..to (inclusive, 'from' nearer the head) out of
+	// 'other' and append them to the tail of this list. The nodes are
+	// relinked in O(1) and keep working as handles in this list. Keeping
+	// both sizes and the nodes' owner right takes a walk over the moved
+	// range, so this is O(to-from) unless the range is the whole of
+	// 'other', which is O(1).
+	public void splice(DoublyLinkedList <T> other, Node <T> from, Node <T> to){
+		if(other == this) throw new IllegalArgumentException("Cannot splice a list into itself");
+		other.checkOwned(from);
+		other.checkOwned(to);
+
+		int count;
+		boolean wholeList = from == other.head && to == other.tail;
+		if(wholeList){
+			count = other.size;
+		} else {
+			count = 1;
+			for(Node <T> trav = from; trav != to; trav = trav.next){
+				if(trav.next == null) throw new IllegalArgumentException("'to' does not follow 'from'");
+				count++;
+			}
+		}
 
+		// Cut the range out of the other list
+		if(from.prev == null) other.head = to.next;
+		else from.prev.next = to.next;
+		if(to.next == null) other.tail = from.prev;
+		else to.next.prev = from.prev;
+		other.size -= count;
+		other.modCount++;
+
+		// Adopt the nodes, the other list gets a fresh Owner for what it
+		// holds from now on
+		if(wholeList){
+			other.owner.list = null;
+			other.owner.forward = owner;
+			other.owner = new Owner <>(other);
+		} else {
+			for(Node <T> trav = from; ; trav = trav.next){
+				trav.owner = owner;
+				if(trav == to) break;
+			}
+		}
+
+		// Hang it off our tail
+		from.prev = tail;
+		to.next = null;
+		if(isEmpty()) head = from;
+		else tail.next = from;
+		tail = to;
+		size += count;
+		modCount++;
+	}
+
+	// Move every node of 'other' to the tail of this list, O(1)
+	public void splice(DoublyLinkedList <T> other){
+		if(!other.isEmpty()) splice(other, other.head, other.tail);
+	}
+
+	// Throw unless node is currently held by this list
+	private void checkOwned(Node <T> node){
+		if(node == null) throw new IllegalArgumentException("Null node");
+		if(node.owner == null) throw new IllegalArgumentException("Node was already removed");
+		if(node.owner.resolve().list != this) throw new IllegalArgumentException("Node belongs to another list");
+	}
+
+	// Make the pointers of adjcent nodes skip over 'node', fixing up the
+	// head and tail when 'node' is at either end
+	private void unlink(Node <T> node){
+		if(node.prev == null) head = node.next;
+		else node.prev.next = node.next;
+		if(node.next == null) tail = node.prev;
+		else node.next.prev = node.prev;
+		node.prev = node.next = null;
+	}
+
+	// Find the node at a particular index,O(n)
+	private Node <T> node(int index){
 		Node <T> trav;
 		// Search from the front of the list
 		if(index < size/2){
-			for(int i = 0, trav = head; i != index; i++){
+			trav = head;
+			for(int i = 0; i != index; i++){
 				trav = trav.next;
 			}
 		// Search from the back of the lise
 		} else {
-			for(int i = size-1, trav = tail; i != index; i--){
+			trav = tail;
+			for(int i = size-1; i != index; i--){
 				trav = trav.prev;
 			}
 		}
+		return trav;
+	}
 
-		return remove(trav);
+	// Remove a node at a particular index,O(n)
+	public T removeAt(int index){
+		// Make sure the index provided is valid
+		if(index < 0 || index >= size) throw new IllegalArgumentException();
+		return remove(node(index));
 	}
 
 	// Remove a particular value in the linked list,O(n)
@@ -195,56 +361,143 @@ public class DoublyLinkedList <T> implements Itrable <T> {
 			}
 		}
 		return false;
-	}	
-	
+	}
+
 	// Find the index of a particular value in the linked list,O(n)
 	public int indexOf(Object obj){
 		Node <T> trav;
+		int index = 0;
 
 		// Supprot searching for null
 		if(obj == null){
-			for(trav = head, int index = 0; trav != null; trav = trav.next, index++){
+			for(trav = head; trav != null; trav = trav.next, index++){
 				if(trav.data == null){
 					return index;
 				}
 			}
 		// Search for non null object
 		} else {
-			for(int index = 0, trav = head; trav != null; trav = trav.next, index++){
-				if(obj.equals(trav.data){
+			for(trav = head; trav != null; trav = trav.next, index++){
+				if(obj.equals(trav.data)){
 					return index;
 				}
 			}
 		}
 		return -1;
 	}
-		
+
 	// Check a value is contained with the linked list
 	public boolean contained(Object obj){
 		return indexOf(obj) != -1;
 	}
 
 	@Override
-	public java.util.Itrator <T> itrator(){
-		return java.util.Itrator <T>(){
-			private Node <T> trav = head;
-			@Override
-			public boolean hasNext(){
-				return trav != null;
-			}
-			@Override
-			public T next(){
-				T data = trav.data;
-				trav = trav.next;
-				return data;
-			}
-		};
-	} 
-	
+	public java.util.Iterator <T> iterator(){
+		return listIterator(0);
+	}
+
+	// A bidirectional cursor positioned before the head
+	public java.util.ListIterator <T> listIterator(){
+		return listIterator(0);
+	}
+
+	// A bidirectional cursor positioned before the element at 'index'.
+	// add/remove/set on the cursor are O(1) and the cursor throws if the
+	// list is changed any other way while it is in use.
+	public java.util.ListIterator <T> listIterator(int index){
+		if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		return new Cursor(index);
+	}
+
+	private class Cursor implements java.util.ListIterator <T> {
+		private Node <T> next;			// node returned by next(), null at the end
+		private Node <T> lastReturned;	// target of remove/set
+		private int nextIndex;
+		private int expectedModCount = modCount;
+
+		Cursor(int index){
+			next = index == size ? null : node(index);
+			nextIndex = index;
+		}
+
+		@Override
+		public boolean hasNext(){
+			return nextIndex < size;
+		}
+
+		@Override
+		public T next(){
+			checkForComodification();
+			if(!hasNext()) throw new java.util.NoSuchElementException();
+			lastReturned = next;
+			next = next.next;
+			nextIndex++;
+			return lastReturned.data;
+		}
+
+		@Override
+		public boolean hasPrevious(){
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous(){
+			checkForComodification();
+			if(!hasPrevious()) throw new java.util.NoSuchElementException();
+			next = next == null ? tail : next.prev;
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.data;
+		}
+
+		@Override
+		public int nextIndex(){
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex(){
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove(){
+			checkForComodification();
+			if(lastReturned == null) throw new IllegalStateException();
+			if(lastReturned == next) next = next.next;	// after previous()
+			else nextIndex--;							// after next()
+			DoublyLinkedList.this.remove(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(T elem){
+			checkForComodification();
+			if(lastReturned == null) throw new IllegalStateException();
+			lastReturned.data = elem;
+		}
+
+		// Insert before the cursor, so a following next() is unaffected
+		@Override
+		public void add(T elem){
+			checkForComodification();
+			if(next == null) addLast(elem);
+			else insertBefore(next, elem);
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification(){
+			if(modCount != expectedModCount) throw new java.util.ConcurrentModificationException();
+		}
+	}
+
 	@Override
 	public String toString(){
 		Node <T> trav = head;
-		StringBuilder sb = StringBuilder();
+		StringBuilder sb = new StringBuilder();
 		sb.append("[");
 		while(trav != null){
 			sb.append(trav.data);
@@ -255,6 +508,5 @@ public class DoublyLinkedList <T> implements Itrable <T> {
 		}
 		sb.append("]");
 		return sb.toString();
-	}	
+	}
 }
-
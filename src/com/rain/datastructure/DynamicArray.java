@@ -1,82 +1,128 @@
-@suppressWarnings("unchecked")	// 在特定情况下抑制警告信息,在使用泛型时，有时会出现未经检查的警告，表示编译器无法确定类型的安全性
+package com.rain.datastructure;
+
+@SuppressWarnings("unchecked")	// 在特定情况下抑制警告信息,在使用泛型时，有时会出现未经检查的警告，表示编译器无法确定类型的安全性
 public class DynamicArray <T> implements Iterable <T>{
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
 	private T[] arr;
-	private int len = 0;	// length user thinks array is 不要向用户告知有多余的空闲槽 
-	private int capacity = 0;	// Actual array size
+	private int len = 0;	// length user thinks array is 不要向用户告知有多余的空闲槽
+
+	// Bumped on every structural change so iterators can fail fast
+	private int modCount = 0;
 
 	//  不要向用户告知有多余的空闲槽,所以使用两个构造函数来初始化数组。
 	public DynamicArray(){
 		this(16);	// 初始化大小为 16
 	}
-	
+
 	public DynamicArray(int capacity){
-		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity :" + capacity);	
-		this.capacity = capacity;
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity :" + capacity);
 		arr = (T[]) new Object[capacity];	// 创建数组对象，转换为 T 类型
 	}
-	
+
 	public int size() { return len; }	// 获取数组大小
-	public boolean isEmpty() { return size() == 0}	// 判断是否为空
+	public boolean isEmpty() { return size() == 0; }	// 判断是否为空
 
-	// 从技术上讲，不应该进行边界检查
-	public T get(int index){ return arr[index]; }
-	public void set(int index, T elem){ arr[index] = elem; }
+	// Actual array size, the number of elements that fit without growing
+	public int capacity() { return arr.length; }
+
+	public T get(int index){
+		checkIndex(index);
+		return arr[index];
+	}
+
+	public void set(int index, T elem){
+		checkIndex(index);
+		arr[index] = elem;
+	}
 
 	// 删除数组中的所有数据
 	public void clear(){
-		for(int i = 0; i < capacity; i++){
-			arr[i] = null;
-		}
+		java.util.Arrays.fill(arr, 0, len, null);
 		len = 0;	// 重置长度
+		modCount++;
 	}
-	
+
+	// Append an element, amortized O(1)
 	public void add(T elem){
 		// Time to resize!
-		if(len+1 >= capacity){
-			if(capacity == 0){
-				capacity = 1;
-			} else {
-				capacity *= 2;
-			}
+		if(len == arr.length) grow(len + 1);
+		arr[len++] = elem;	// 在右边添加元素
+		modCount++;
+	}
 
-			// 复制元素到新的数组
-			T new_arr = (T[]) new Object[capacity];
-			for(int i = 0; i < len; i++){
-				new_arr[i] = arr[i];
-			}
-			arr = new_arr;
-			arr[len++] = elem;	// 在右边添加元素
-		}		
+	// Make sure the array holds 'capacity' elements without growing
+	public void ensureCapacity(int capacity){
+		if(capacity > arr.length) grow(capacity);
+	}
+
+	// Shrink the backing array to the number of elements
+	public void trimToSize(){
+		if(len < arr.length) arr = java.util.Arrays.copyOf(arr, len);
 	}
 
-	// Remove the element at the specified index in this list
+	// Remove the element at the specified index in this list, shifting the
+	// elements after it left in place, O(n - index)
 	public T remove(int rm_index){
-		if(index > len) throw new IndexOfBoundsException();
-		T[] new_arr = (T[]) new Object[len--];
+		checkIndex(rm_index);
 		T data = arr[rm_index];
-		for(int i = 0, int j = 0; i < len; i++, j++){
-			if(i == rm_index) j--;	// Skip over rm_index by fixing j temporarily
-			else new_arr[j] = arr[i];
-		}
-		arr = new_arr;
-		capacity = --len;	// 重置数组长度
+		System.arraycopy(arr, rm_index + 1, arr, rm_index, len - rm_index - 1);
+		arr[--len] = null;	// Let the GC have the last slot
+		modCount++;
 		return data;
 	}
-	
-	public boolean remove(Object obj){
+
+	// Remove the elements in [from, to) with a single shift, O(n - from)
+	public void removeRange(int from, int to){
+		if(from < 0 || to > len || from > to) throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + len);
+		if(from == to) return;
+		System.arraycopy(arr, to, arr, from, len - to);
+		int newLen = len - (to - from);
+		java.util.Arrays.fill(arr, newLen, len, null);
+		len = newLen;
+		modCount++;
+	}
+
+	// Remove every element matching the filter, O(n). The filter is run on
+	// every element before anything moves, so if it throws the array is
+	// left as it was. Then one compaction pass moves each kept element at
+	// most once. Return true if any element was removed.
+	public boolean removeIf(java.util.function.Predicate<? super T> filter){
+		if(filter == null) throw new IllegalArgumentException();
+		java.util.BitSet removed = new java.util.BitSet(len);
 		for(int i = 0; i < len; i++){
-			if(arr[i] == obj){
-				remove(i);
-				return true;
-			}
+			if(filter.test(arr[i])) removed.set(i);
+		}
+		int first = removed.nextSetBit(0);
+		if(first < 0) return false;
+
+		int kept = first;
+		for(int i = first + 1; i < len; i++){
+			if(!removed.get(i)) arr[kept++] = arr[i];
 		}
-		return false;
+		java.util.Arrays.fill(arr, kept, len, null);
+		len = kept;
+		modCount++;
+		return true;
 	}
 
+	public boolean remove(Object obj){
+		int index = indexOf(obj);
+		if(index == -1) return false;
+		remove(index);
+		return true;
+	}
+
+	// Find the first element equal to obj (null matches null), O(n)
 	public int indexOf(Object obj){
-		for(int i = 0; i < len; i++){
-			if(arr[i] = obj)
-				return i;
+		if(obj == null){
+			for(int i = 0; i < len; i++){
+				if(arr[i] == null) return i;
+			}
+		} else {
+			for(int i = 0; i < len; i++){
+				if(obj.equals(arr[i])) return i;
+			}
 		}
 		return -1;
 	}
@@ -86,31 +132,47 @@ public class DynamicArray <T> implements Iterable <T>{
 		return indexOf(obj) != -1;
 	}
 
-	// Iterator is still fast but not as fast as itrative for loop
+	// Grow to at least minCapacity, doubling so adds stay amortized O(1)
+	private void grow(int minCapacity){
+		if(minCapacity < 0 || minCapacity > MAX_CAPACITY) throw new OutOfMemoryError("Array too large");
+		int capacity = (int) Math.min(Math.max(2L * arr.length, minCapacity), MAX_CAPACITY);
+		// 复制元素到新的数组
+		arr = java.util.Arrays.copyOf(arr, Math.max(1, capacity));
+	}
+
+	private void checkIndex(int index){
+		if(index < 0 || index >= len) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + len);
+	}
+
+	// Iterator is still fast but not as fast as itrative for loop. It
+	// throws if the array is changed structurally while iterating.
 	@Override
 	public java.util.Iterator <T> iterator(){
 		return new java.util.Iterator <T> (){
+			private final int expectedModCount = modCount;
 			int index = 0;
+
+			@Override
 			public boolean hasNext(){
+				if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
 				return index < len;
 			}
+
+			@Override
 			public T next(){
+				if(!hasNext()) throw new java.util.NoSuchElementException();
 				return arr[index++];
 			}
 		};
 	}
 
-	@Override 
+	@Override
 	public String toString(){
 		if(len == 0) return "[]";
-		else {
-			StringBuilder sb = new StringBuilder(len).append("[")
-			for(int i = 0; i < len - 1; i++){
-				sb.append(arr[i]);
-				if(i < len -2){
-					sb.append(",");
-			}
-			return sb.append(arr[len - 1] + "]").toString();
+		StringBuilder sb = new StringBuilder(len).append("[");
+		for(int i = 0; i < len - 1; i++){
+			sb.append(arr[i]).append(",");
 		}
-	}	
+		return sb.append(arr[len - 1]).append("]").toString();
+	}
 }
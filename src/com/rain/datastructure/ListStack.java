@@ -1,9 +1,38 @@
+package com.rain.datastructure;
+
+// A stack stored as a linked list of fixed size array chunks (an unrolled
+// linked list). A push only allocates when a chunk fills up, and the chunks
+// emptied by pops are kept on a small free list and reused, so pushing and
+// popping around a chunk boundary never allocates. Growing never copies
+// elements, unlike a single array, and scans walk contiguous chunk arrays
+// instead of one node per element.
 public class ListStack <T> implements Iterable<T> {
-	private java.util.LinkedList<T> list = new java.util.LinkedList<>();
+	// Number of elements per chunk
+	private static final int CHUNK_SIZE = 256;
+
+	// How many empty chunks we keep around for reuse
+	private static final int MAX_FREE_CHUNKS = 4;
+
+	private static class Chunk {
+		final Object[] items = new Object[CHUNK_SIZE];
+		Chunk prev, next;
+	}
+
+	private Chunk bottom = new Chunk();
+	private Chunk top = bottom;		// chunk holding the top element
+	private int topCount = 0;		// elements used in 'top'
+	private int size = 0;
+
+	// Singly linked through 'next'
+	private Chunk freeList = null;
+	private int freeCount = 0;
+
+	// Bumped on every push/pop so iterators can fail fast
+	private int modCount = 0;
 
 	// Create an empty stack
 	public ListStack(){}
-	
+
 	// Create an stack with an initial element
 	public ListStack(T firstElem) {
 		push(firstElem);
@@ -11,42 +40,123 @@ public class ListStack <T> implements Iterable<T> {
 
 	// Return the number of elements in the stack
 	public int size() {
-		return list.size;
+		return size;
 	}
-		
+
 	// Check if the stack is empty
 	public boolean isEmpty(){
 		return size() == 0;
 	}
 
-	// Push an element on the stack
-	public void push(T elem){	
-		list.addList(elem);
+	// Push an element on the stack, O(1)
+	public void push(T elem){
+		if(topCount == CHUNK_SIZE){
+			Chunk chunk = takeChunk();
+			chunk.prev = top;
+			top.next = chunk;
+			top = chunk;
+			topCount = 0;
+		}
+		top.items[topCount++] = elem;
+		size++;
+		modCount++;
 	}
 
-	// Pop an element off the stack
+	// Pop an element off the stack, O(1)
 	// Throw an error is the stack is empty
+	@SuppressWarnings("unchecked")
 	public T pop(){
 		if(isEmpty()) throw new java.util.EmptyStackException();
-		return list.removeLast();
+
+		T elem = (T) top.items[--topCount];
+		top.items[topCount] = null;
+		size--;
+		modCount++;
+
+		// Step down to the previous chunk once this one is empty
+		if(topCount == 0 && top.prev != null){
+			Chunk empty = top;
+			top = top.prev;
+			top.next = null;
+			topCount = CHUNK_SIZE;
+			recycle(empty);
+		}
+		return elem;
 	}
 
 	// Peek the top of the stack without removing an element
 	// Throw an error is the stack is empty
+	@SuppressWarnings("unchecked")
 	public T peek(){
 		if(isEmpty()) throw new java.util.EmptyStackException();
-		return list.peekLast();
-	}	
-	
-	// Searches for the element staring from top of the stack
+		return (T) top.items[topCount - 1];
+	}
+
+	// Searches for the element staring from top of the stack and returns
+	// its index counted from the bottom (0 is the bottom element)
 	// Return -1 if the element is not present in the stack
 	public int search(T elem){
-		return list.lastIndexOf(T elem);
+		int index = size - 1;
+		int count = topCount;
+		for(Chunk chunk = top; chunk != null; chunk = chunk.prev){
+			Object[] items = chunk.items;
+			for(int i = count - 1; i >= 0; i--, index--){
+				if(elem == null ? items[i] == null : elem.equals(items[i])) return index;
+			}
+			count = CHUNK_SIZE;
+		}
+		return -1;
+	}
+
+	// Get an empty chunk from the free list or allocate one
+	private Chunk takeChunk(){
+		if(freeList == null) return new Chunk();
+		Chunk chunk = freeList;
+		freeList = chunk.next;
+		chunk.next = null;
+		freeCount--;
+		return chunk;
 	}
 
-	// Allow users to itrate through the stack using an itratoe
+	// Put an empty chunk on the free list, or drop it if the list is full
+	private void recycle(Chunk chunk){
+		chunk.prev = null;
+		if(freeCount == MAX_FREE_CHUNKS){
+			chunk.next = null;
+			return;
+		}
+		chunk.next = freeList;
+		freeList = chunk;
+		freeCount++;
+	}
+
+	// Allow users to itrate through the stack from the bottom to the top.
+	// The iterator throws if the stack is pushed or popped while iterating.
 	@Override
 	public java.util.Iterator<T> iterator(){
-		return list.itretor();
+		return new java.util.Iterator<T>(){
+			private final int expectedModCount = modCount;
+			private Chunk chunk = bottom;
+			private int i = 0;			// position inside chunk
+			private int remaining = size;
+
+			@Override
+			public boolean hasNext(){
+				if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
+				return remaining > 0;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next(){
+				if(!hasNext()) throw new java.util.NoSuchElementException();
+				if(i == CHUNK_SIZE){
+					chunk = chunk.next;
+					i = 0;
+				}
+				remaining--;
+				return (T) chunk.items[i++];
+			}
+		};
 	}
 }
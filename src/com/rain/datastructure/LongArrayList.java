@@ -0,0 +1,168 @@
+package com.rain.datastructure;
+
+// A dynamic array of primitive longs, the unboxed counterpart of
+// DynamicArray<T>. Elements take 8 bytes each instead of a reference plus a
+// boxed Long, and get() is a plain array load with no cast.
+//
+// The backing array grows by a configurable factor (2 by default, like
+// DynamicArray), so appends are amortized O(1). elements() hands out the
+// backing array itself for tight loops.
+public class LongArrayList{
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final double DEFAULT_GROWTH_FACTOR = 2.0;
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private long[] arr;
+	private int len = 0;	// length user thinks array is
+	private final double growthFactor;
+
+	public LongArrayList(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongArrayList(int capacity){
+		this(capacity, DEFAULT_GROWTH_FACTOR);
+	}
+
+	// growthFactor is what the capacity is multiplied by when the array is
+	// full. Smaller factors waste less memory but copy more often.
+	public LongArrayList(int capacity, double growthFactor){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		if(!(growthFactor > 1.0)) throw new IllegalArgumentException("Growth factor must be > 1: " + growthFactor);
+		this.growthFactor = growthFactor;
+		arr = new long[capacity];
+	}
+
+	public int size(){
+		return len;
+	}
+
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Return the number of elements the list holds before it has to grow
+	public int capacity(){
+		return arr.length;
+	}
+
+	// Return the backing array. Only the first size() slots are elements,
+	// and the array is replaced whenever the list grows or is trimmed.
+	public long[] elements(){
+		return arr;
+	}
+
+	public long get(int index){
+		checkIndex(index);
+		return arr[index];
+	}
+
+	// Replace the element at index and return the old one
+	public long set(int index, long elem){
+		checkIndex(index);
+		long old = arr[index];
+		arr[index] = elem;
+		return old;
+	}
+
+	// Append an element, amortized O(1)
+	public void add(long elem){
+		if(len == arr.length) grow(len + 1);
+		arr[len++] = elem;
+	}
+
+	// Insert an element at index, shifting the later elements right, O(n)
+	public void insert(int index, long elem){
+		if(index < 0 || index > len) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + len);
+		if(len == arr.length) grow(len + 1);
+		System.arraycopy(arr, index, arr, index + 1, len - index);
+		arr[index] = elem;
+		len++;
+	}
+
+	// Append every element of src
+	public void addAll(long[] src){
+		addAll(src, 0, src.length);
+	}
+
+	// Append src[off..off+n) with a single array copy, O(n)
+	public void addAll(long[] src, int off, int n){
+		if(off < 0 || n < 0 || off + n > src.length) throw new IndexOutOfBoundsException();
+		ensureCapacity(len + n);
+		System.arraycopy(src, off, arr, len, n);
+		len += n;
+	}
+
+	// Remove the element at index, shifting the later elements left, O(n)
+	public long removeAt(int index){
+		checkIndex(index);
+		long data = arr[index];
+		System.arraycopy(arr, index + 1, arr, index, len - index - 1);
+		len--;
+		return data;
+	}
+
+	// Remove every element, O(1)
+	public void clear(){
+		len = 0;
+	}
+
+	public int indexOf(long elem){
+		for(int i = 0; i < len; i++){
+			if(arr[i] == elem) return i;
+		}
+		return -1;
+	}
+
+	public boolean contains(long elem){
+		return indexOf(elem) != -1;
+	}
+
+	// Sort the elements in ascending order, O(nlog(n))
+	public void sort(){
+		java.util.Arrays.sort(arr, 0, len);
+	}
+
+	// Search a sorted list for key. Return its index, or (-(insertion
+	// point) - 1) if it isn't there, O(log(n))
+	public int binarySearch(long key){
+		return java.util.Arrays.binarySearch(arr, 0, len, key);
+	}
+
+	// Return a copy of the elements
+	public long[] toArray(){
+		return java.util.Arrays.copyOf(arr, len);
+	}
+
+	// Make sure the list holds 'capacity' elements without growing
+	public void ensureCapacity(int capacity){
+		if(capacity > arr.length) grow(capacity);
+	}
+
+	// Shrink the backing array to the number of elements
+	public void trimToSize(){
+		if(len < arr.length) arr = java.util.Arrays.copyOf(arr, len);
+	}
+
+	// Grow by the growth factor, or to minCapacity if that is more
+	private void grow(int minCapacity){
+		if(minCapacity < 0 || minCapacity > MAX_CAPACITY) throw new OutOfMemoryError("List too large");
+		long scaled = (long) (arr.length * growthFactor);
+		int capacity = (int) Math.min(Math.max(Math.max(scaled, arr.length + 1L), minCapacity), MAX_CAPACITY);
+		arr = java.util.Arrays.copyOf(arr, capacity);
+	}
+
+	private void checkIndex(int index){
+		if(index < 0 || index >= len) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + len);
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder("[");
+		for(int i = 0; i < len; i++){
+			if(i > 0) sb.append(",");
+			sb.append(arr[i]);
+		}
+		return sb.append("]").toString();
+	}
+}
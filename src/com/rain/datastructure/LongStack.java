@@ -0,0 +1,96 @@
+package com.rain.datastructure;
+
+// A growable stack of primitive longs. push/pop never box and never allocate
+// except when the backing array has to grow, which doubles it.
+public class LongStack{
+	private long arr[];
+	private int pos = 0;	// number of elements, arr[pos-1] is the top
+
+	public LongStack(){
+		this(16);
+	}
+
+	// initialCapacity is only a hint, the stack grows as needed
+	public LongStack(int initialCapacity){
+		if(initialCapacity < 0) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		arr = new long[initialCapacity];
+	}
+
+	// Return the number of elements insize the stack
+	public int size(){
+		return pos;
+	}
+
+	// Return true/false on whehter the stack is empty
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Return the number of elements the stack holds before it has to grow
+	public int capacity(){
+		return arr.length;
+	}
+
+	// Add an element to the top of the stack, amortized O(1)
+	public void push(long elem){
+		if(pos == arr.length) grow(pos + 1);
+		arr[pos++] = elem;
+	}
+
+	// Push every element of src in order, so src[src.length-1] ends up on top
+	public void pushAll(long[] src){
+		pushAll(src, 0, src.length);
+	}
+
+	// Push src[off..off+len) in order with a single array copy, O(len)
+	public void pushAll(long[] src, int off, int len){
+		if(off < 0 || len < 0 || off + len > src.length) throw new IndexOutOfBoundsException();
+		reserve(pos + len);
+		System.arraycopy(src, off, arr, pos, len);
+		pos += len;
+	}
+
+	// Make sure you check that the stack is not empty before calling pop
+	public long pop(){
+		if(isEmpty()) throw new java.util.EmptyStackException();
+		return arr[--pos];
+	}
+
+	// Pop up to n elements into dst in pop order (dst[0] is the old top).
+	// Return the number of elements popped, O(n)
+	public int popInto(long[] dst, int n){
+		if(n < 0) throw new IllegalArgumentException("Illegal count: " + n);
+		n = Math.min(Math.min(n, pos), dst.length);
+		for(int i = 0; i < n; i++) dst[i] = arr[--pos];
+		return n;
+	}
+
+	// Return the element at the top of the stack
+	public long peek(){
+		if(isEmpty()) throw new java.util.EmptyStackException();
+		return arr[pos - 1];
+	}
+
+	// Remove every element, O(1)
+	public void clear(){
+		pos = 0;
+	}
+
+	// Make sure the stack can hold minCapacity elements without growing
+	public void reserve(int minCapacity){
+		if(minCapacity > arr.length) grow(minCapacity);
+	}
+
+	// Shrink the backing array to the number of elements
+	public void trimToSize(){
+		if(pos < arr.length) arr = java.util.Arrays.copyOf(arr, pos);
+	}
+
+	// Grow to at least minCapacity, doubling so pushes stay amortized O(1)
+	private void grow(int minCapacity){
+		if(minCapacity < 0) throw new OutOfMemoryError("Stack too large");
+		int newCapacity = (int) Math.min(Math.max(2L * arr.length, minCapacity), Integer.MAX_VALUE - 8);
+		if(newCapacity < minCapacity) throw new OutOfMemoryError("Stack too large");
+		arr = java.util.Arrays.copyOf(arr, newCapacity);
+	}
+}
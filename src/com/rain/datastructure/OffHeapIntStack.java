@@ -0,0 +1,122 @@
+package com.rain.datastructure;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+// IntStack with the same API but backed by direct (off-heap) memory, for
+// stacks big enough that we don't want them scanned or copied by the GC.
+// A dropped buffer, the whole stack's once it is unreachable or the old
+// one after a growth/trim, is only freed when its Cleaner runs after a GC
+// has found it. Growing a big stack repeatedly can therefore run into
+// -XX:MaxDirectMemorySize before the old buffers are gone; reserve() the
+// final size up front to avoid that.
+//
+// A direct buffer is at most 2GB, so the stack holds at most
+// (Integer.MAX_VALUE-8)/4 = 536870909 ints.
+public class OffHeapIntStack{
+	private static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / Integer.BYTES;
+
+	private IntBuffer buf;
+	private int pos = 0;	// number of elements, buf.get(pos-1) is the top
+
+	public OffHeapIntStack(){
+		this(1024);
+	}
+
+	// initialCapacity is only a hint, the stack grows as needed
+	public OffHeapIntStack(int initialCapacity){
+		if(initialCapacity < 0 || initialCapacity > MAX_CAPACITY) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		buf = allocate(initialCapacity);
+	}
+
+	// Return the number of elements insize the stack
+	public int size(){
+		return pos;
+	}
+
+	// Return true/false on whehter the stack is empty
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Return the number of elements the stack holds before it has to grow
+	public int capacity(){
+		return buf.capacity();
+	}
+
+	// Add an element to the top of the stack, amortized O(1)
+	public void push(int elem){
+		if(pos == buf.capacity()) grow(pos + 1);
+		buf.put(pos++, elem);
+	}
+
+	// Push every element of src in order, so src[src.length-1] ends up on top
+	public void pushAll(int[] src){
+		pushAll(src, 0, src.length);
+	}
+
+	// Push src[off..off+len) in order with a single bulk copy, O(len)
+	public void pushAll(int[] src, int off, int len){
+		if(off < 0 || len < 0 || off + len > src.length) throw new IndexOutOfBoundsException();
+		reserve(pos + len);
+		buf.position(pos);
+		buf.put(src, off, len);
+		pos += len;
+	}
+
+	// Make sure you check that the stack is not empty before calling pop
+	public int pop(){
+		if(isEmpty()) throw new java.util.EmptyStackException();
+		return buf.get(--pos);
+	}
+
+	// Pop up to n elements into dst in pop order (dst[0] is the old top).
+	// Return the number of elements popped, O(n)
+	public int popInto(int[] dst, int n){
+		if(n < 0) throw new IllegalArgumentException("Illegal count: " + n);
+		n = Math.min(Math.min(n, pos), dst.length);
+		for(int i = 0; i < n; i++) dst[i] = buf.get(--pos);
+		return n;
+	}
+
+	// Return the element at the top of the stack
+	public int peek(){
+		if(isEmpty()) throw new java.util.EmptyStackException();
+		return buf.get(pos - 1);
+	}
+
+	// Remove every element, O(1)
+	public void clear(){
+		pos = 0;
+	}
+
+	// Make sure the stack can hold minCapacity elements without growing
+	public void reserve(int minCapacity){
+		if(minCapacity > buf.capacity()) grow(minCapacity);
+	}
+
+	// Shrink the backing buffer to the number of elements
+	public void trimToSize(){
+		if(pos < buf.capacity()) copyInto(allocate(pos));
+	}
+
+	// Grow to at least minCapacity, doubling so pushes stay amortized O(1)
+	private void grow(int minCapacity){
+		if(minCapacity < 0 || minCapacity > MAX_CAPACITY) throw new OutOfMemoryError("Stack too large");
+		int newCapacity = (int) Math.min(Math.max(2L * buf.capacity(), minCapacity), MAX_CAPACITY);
+		copyInto(allocate(newCapacity));
+	}
+
+	// Copy the elements into newBuf and make it the backing buffer
+	private void copyInto(IntBuffer newBuf){
+		IntBuffer old = buf.duplicate();
+		old.position(0).limit(pos);
+		newBuf.put(old);
+		buf = newBuf;
+	}
+
+	private static IntBuffer allocate(int capacity){
+		return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+	}
+}
@@ -1,10 +1,12 @@
+package com.rain.datastructure;
+
 public class SinglyLinkedList<T> implements Iterable<T> {
 	private int size = 0;
 	private Node<T> head = null;
 	private Node<T> tail = null;
 
 	// Internal node class to represent data
-	private class Node<T>{
+	private static class Node<T>{
 		T data;
 		Node<T> next;
 		public Node(T data, Node<T> next){
@@ -14,7 +16,7 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 
 		@Override
 		public String toString(){
-			return data.toString;
+			return data.toString();
 		}
 	}
 		
@@ -25,6 +27,7 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 			Node<T> temp = trav.next;
 			trav.next = null;
 			trav.data = null;
+			trav = temp;
 		}
 		head = tail = trav = null;
 		size = 0;
@@ -49,10 +52,10 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 	public void addFirst(T elem){
 		// The linked list is empty
 		if(isEmpty()){
-			head = tail = new Node(elem, null);
+			head = tail = new Node<>(elem, null);
 		} else {
 			Node<T> temp = head;
-			head = new Node(elem, temp);
+			head = new Node<>(elem, temp);
 		}
 
 		size++;
@@ -62,9 +65,9 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 	public void addLast(T elem){
 		// The linked list is empty
 		if(isEmpty()){
-			head = tail = new Node(elem, null);
+			head = tail = new Node<>(elem, null);
 		} else {
-			tail.next = new Node(elem, null);
+			tail.next = new Node<>(elem, null);
 			tail = tail.next;
 		}
 		size++;
@@ -205,8 +208,8 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 	}
 
 	@Override
-	public java.util.Itrator<T> itrator(){
-		return java.util.Itrator<T>(){
+	public java.util.Iterator<T> iterator(){
+		return new java.util.Iterator<T>(){
 			Node<T> trav = head;
 			@Override
 			public boolean hasNext(){
@@ -228,7 +231,7 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 		sb.append("[");
 		while(trav != null){
 			sb.append(trav.data);
-			if(trav.next != noll){
+			if(trav.next != null){
 				sb.append(",");
 			}
 			trav = trav.next;
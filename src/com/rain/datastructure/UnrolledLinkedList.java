@@ -0,0 +1,374 @@
+package com.rain.datastructure;
+
+// A doubly linked list where every node holds up to B elements in an array
+// (an unrolled linked list). Compared with DoublyLinkedList that is one node
+// header and two links per B elements instead of per element, and a scan
+// reads B neighbouring slots per pointer chase, so traversals like indexOf
+// and removeAt cost O(n/B) node hops.
+//
+// The elements of a node sit in items[start, start+count). Leaving room on
+// both sides lets addFirst/removeFirst and addLast/removeLast work on the
+// end nodes in O(1) amortized without shifting.
+//
+// Every node except the head and tail is kept at least half full: a node
+// that drops below B/2 borrows from a neighbour or merges with it, so n
+// elements never take more than about 2n/B nodes.
+public class UnrolledLinkedList<T> implements Iterable<T> {
+	private static final int DEFAULT_NODE_CAPACITY = 64;
+
+	private final int nodeCapacity;
+	private int size = 0;
+	private Node head = null;
+	private Node tail = null;
+
+	// Bumped on every structural change so iterators can fail fast
+	private int modCount = 0;
+
+	// Internal node class holding a run of elements
+	private class Node {
+		final Object[] items = new Object[nodeCapacity];
+		int start, count;
+		Node prev, next;
+
+		Node(int start){
+			this.start = start;
+		}
+	}
+
+	public UnrolledLinkedList(){
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	// nodeCapacity is the number of elements per node (B)
+	public UnrolledLinkedList(int nodeCapacity){
+		if(nodeCapacity < 2) throw new IllegalArgumentException("Node capacity must be at least 2: " + nodeCapacity);
+		this.nodeCapacity = nodeCapacity;
+	}
+
+	// Empty the linked list, O(n)
+	public void clear(){
+		Node trav = head;
+		while(trav != null){
+			Node next = trav.next;
+			java.util.Arrays.fill(trav.items, null);
+			trav.prev = trav.next = null;
+			trav = next;
+		}
+		head = tail = null;
+		size = 0;
+		modCount++;
+	}
+
+	// Return the size of the linked list
+	public int size(){
+		return size;
+	}
+
+	// Is this linked list empty?
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Add an element to the tail of the linked list, O(1)
+	public void add(T elem){
+		addLast(elem);
+	}
+
+	// Add an element to the head of the linked list, O(1)
+	public void addFirst(T elem){
+		// No room before the first element. Slide a head with free slots
+		// to its right end, so only full nodes ever end up behind a new
+		// head, otherwise start a new head node that fills from its right end
+		if(head != null && head.start == 0 && head.count < nodeCapacity) moveTo(head, nodeCapacity - head.count);
+		if(head == null || head.start == 0){
+			Node node = new Node(nodeCapacity);
+			node.next = head;
+			if(head == null) tail = node;
+			else head.prev = node;
+			head = node;
+		}
+		head.items[--head.start] = elem;
+		head.count++;
+		size++;
+		modCount++;
+	}
+
+	// Add an element to the tail of the linked list, O(1)
+	public void addLast(T elem){
+		// No room after the last element. Slide a tail with free slots to
+		// its left end, otherwise start a new tail node
+		if(tail != null && tail.start + tail.count == nodeCapacity && tail.count < nodeCapacity) moveTo(tail, 0);
+		if(tail == null || tail.start + tail.count == nodeCapacity){
+			Node node = new Node(0);
+			node.prev = tail;
+			if(tail == null) head = node;
+			else tail.next = node;
+			tail = node;
+		}
+		tail.items[tail.start + tail.count++] = elem;
+		size++;
+		modCount++;
+	}
+
+	// Check the value of the first node if it exists, O(1)
+	public T peekFirst(){
+		if(isEmpty()) throw new RuntimeException("Empty list");
+		return item(head, 0);
+	}
+
+	// Check the value of the last node if it exists, O(1)
+	public T peekLast(){
+		if(isEmpty()) throw new RuntimeException("Empty list");
+		return item(tail, tail.count - 1);
+	}
+
+	// Remove the first value at the head of the linked list, O(1)
+	public T removeFirst(){
+		if(isEmpty()) throw new RuntimeException("Empty list");
+
+		T data = item(head, 0);
+		head.items[head.start++] = null;
+		head.count--;
+		size--;
+		modCount++;
+		if(head.count == 0) unlink(head);
+		return data;
+	}
+
+	// Remove the last value at the tail of the linked list, O(1)
+	public T removeLast(){
+		if(isEmpty()) throw new RuntimeException("Empty list");
+
+		T data = item(tail, tail.count - 1);
+		tail.items[tail.start + --tail.count] = null;
+		size--;
+		modCount++;
+		if(tail.count == 0) unlink(tail);
+		return data;
+	}
+
+	// Return the element at a particular index, O(n/B)
+	public T get(int index){
+		if(index < 0 || index >= size) throw new IllegalArgumentException();
+
+		// Walk whole nodes from whichever end is closer
+		Node trav;
+		if(index < size / 2){
+			trav = head;
+			while(index >= trav.count){
+				index -= trav.count;
+				trav = trav.next;
+			}
+		} else {
+			trav = tail;
+			int fromEnd = size - 1 - index;
+			while(fromEnd >= trav.count){
+				fromEnd -= trav.count;
+				trav = trav.prev;
+			}
+			index = trav.count - 1 - fromEnd;
+		}
+		return item(trav, index);
+	}
+
+	// Remove a node at a particular index, O(n/B + B)
+	public T removeAt(int index){
+		if(index < 0 || index >= size) throw new IllegalArgumentException();
+
+		Node trav;
+		if(index < size / 2){
+			trav = head;
+			while(index >= trav.count){
+				index -= trav.count;
+				trav = trav.next;
+			}
+		} else {
+			trav = tail;
+			int fromEnd = size - 1 - index;
+			while(fromEnd >= trav.count){
+				fromEnd -= trav.count;
+				trav = trav.prev;
+			}
+			index = trav.count - 1 - fromEnd;
+		}
+		return removeFrom(trav, index);
+	}
+
+	// Remove a particular value in the linked list, O(n/B + B)
+	public boolean remove(Object obj){
+		for(Node trav = head; trav != null; trav = trav.next){
+			int i = find(trav, obj);
+			if(i >= 0){
+				removeFrom(trav, i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Find the index of a particular value in the linked list, O(n/B) nodes
+	public int indexOf(Object obj){
+		int index = 0;
+		for(Node trav = head; trav != null; trav = trav.next){
+			int i = find(trav, obj);
+			if(i >= 0) return index + i;
+			index += trav.count;
+		}
+		return -1;
+	}
+
+	// Check a value is contained with the linked list
+	public boolean contained(Object obj){
+		return indexOf(obj) != -1;
+	}
+
+	// Position of obj inside node (relative to start) or -1. Scanning the
+	// items array directly is the cache friendly part of this list.
+	private int find(Node node, Object obj){
+		Object[] items = node.items;
+		int end = node.start + node.count;
+		if(obj == null){
+			for(int i = node.start; i < end; i++){
+				if(items[i] == null) return i - node.start;
+			}
+		} else {
+			for(int i = node.start; i < end; i++){
+				if(obj.equals(items[i])) return i - node.start;
+			}
+		}
+		return -1;
+	}
+
+	// Remove the i-th element of node (relative to start), closing the gap
+	// by shifting whichever side of it is shorter
+	private T removeFrom(Node node, int i){
+		T data = item(node, i);
+		int pos = node.start + i;
+		if(i < node.count / 2){
+			System.arraycopy(node.items, node.start, node.items, node.start + 1, i);
+			node.items[node.start++] = null;
+		} else {
+			System.arraycopy(node.items, pos + 1, node.items, pos, node.count - i - 1);
+			node.items[node.start + node.count - 1] = null;
+		}
+		node.count--;
+		size--;
+		modCount++;
+
+		if(node.count == 0) unlink(node);
+		else if(node.count < nodeCapacity / 2) rebalance(node);
+		return data;
+	}
+
+	// Bring a node that dropped below half full back to at least half, O(B).
+	// If it fits together with a neighbour (the next one if there is one)
+	// the two merge, otherwise the neighbour has more than B/2 elements and
+	// lends some. A merged node takes the neighbour's place, so it can only
+	// end up under half full at the head or tail.
+	private void rebalance(Node node){
+		int half = nodeCapacity / 2;
+		if(node.next != null){
+			Node next = node.next;
+			if(node.count + next.count <= nodeCapacity){
+				merge(node, next);
+				return;
+			}
+			// Append next's first k elements
+			int k = half - node.count;
+			if(node.start + node.count + k > nodeCapacity) moveTo(node, 0);
+			System.arraycopy(next.items, next.start, node.items, node.start + node.count, k);
+			java.util.Arrays.fill(next.items, next.start, next.start + k, null);
+			next.start += k;
+			next.count -= k;
+			node.count += k;
+		} else if(node.prev != null){
+			Node prev = node.prev;
+			if(prev.count + node.count <= nodeCapacity){
+				merge(prev, node);
+				return;
+			}
+			// Prepend prev's last k elements
+			int k = half - node.count;
+			if(node.start < k) moveTo(node, nodeCapacity - node.count);
+			int from = prev.start + prev.count - k;
+			System.arraycopy(prev.items, from, node.items, node.start - k, k);
+			java.util.Arrays.fill(prev.items, from, from + k, null);
+			prev.count -= k;
+			node.start -= k;
+			node.count += k;
+		}
+	}
+
+	// Move every element of 'right' to the end of 'left' and drop 'right'
+	private void merge(Node left, Node right){
+		if(left.start + left.count + right.count > nodeCapacity) moveTo(left, 0);
+		System.arraycopy(right.items, right.start, left.items, left.start + left.count, right.count);
+		left.count += right.count;
+		unlink(right);
+	}
+
+	// Shift the elements of a node so they begin at 'start', clearing the
+	// slots they leave
+	private void moveTo(Node node, int start){
+		int old = node.start, end = old + node.count;
+		if(start == old) return;
+		System.arraycopy(node.items, old, node.items, start, node.count);
+		if(start < old) java.util.Arrays.fill(node.items, Math.max(old, start + node.count), end, null);
+		else java.util.Arrays.fill(node.items, old, Math.min(end, start), null);
+		node.start = start;
+	}
+
+	// Remove a node from the chain of nodes
+	private void unlink(Node node){
+		if(node.prev == null) head = node.next;
+		else node.prev.next = node.next;
+		if(node.next == null) tail = node.prev;
+		else node.next.prev = node.prev;
+		node.prev = node.next = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T item(Node node, int i){
+		return (T) node.items[node.start + i];
+	}
+
+	@Override
+	public java.util.Iterator<T> iterator(){
+		return new java.util.Iterator<T>(){
+			private final int expectedModCount = modCount;
+			private Node trav = head;
+			private int i = 0;
+
+			@Override
+			public boolean hasNext(){
+				if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
+				return trav != null;
+			}
+
+			@Override
+			public T next(){
+				if(!hasNext()) throw new java.util.NoSuchElementException();
+				T data = item(trav, i++);
+				if(i == trav.count){
+					trav = trav.next;
+					i = 0;
+				}
+				return data;
+			}
+		};
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for(Node trav = head; trav != null; trav = trav.next){
+			for(int i = 0; i < trav.count; i++){
+				sb.append(item(trav, i));
+				if(trav.next != null || i < trav.count - 1) sb.append(",");
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+}
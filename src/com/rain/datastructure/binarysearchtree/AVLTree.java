@@ -0,0 +1,368 @@
+package com.rain.datastructure.binarysearchtree;
+
+// A self balancing binary search tree (AVL tree) with the same add/remove/
+// contains/size API as BinarySearchTree. The heights of the two subtrees of
+// every node differ by at most one, so the tree height stays O(log(n)) even
+// for sorted input.
+//
+// Every operation is iterative: nodes keep a parent link, so after an insert
+// or delete we walk back up to the root fixing heights and rotating instead
+// of unwinding a recursion. Deep trees can't overflow the stack and an insert
+// walks down the tree only once.
+//
+// Every node also tracks the size of its subtree, which gives the order
+// statistic queries (rank, select, countInRange) in O(log(n)).
+public class AVLTree<T extends Comparable<T>>{
+    // Tracks the numbers of nodes in this tree
+    private int nodeCount = 0;
+
+    // This tree is a rooted tree so we maintain a handle on the root node
+    private Node root = null;
+
+    // Bumped on every structural change so range iterators can fail fast
+    private int modCount = 0;
+
+    // Internal node containing node references
+    // and the actual node data
+    private class Node{
+        T data;
+        Node left, right, parent;
+
+        // Height of the subtree rooted at this node, a leaf has height 1
+        int height = 1;
+
+        // Number of nodes in the subtree rooted at this node
+        int size = 1;
+
+        public Node(T data, Node parent){
+            this.data = data;
+            this.parent = parent;
+        }
+    }
+
+    // Check if this tree is empty
+    public boolean isEmpty(){
+        return nodeCount == 0;
+    }
+
+    // Get the number of nodes in this tree
+    public int size(){
+        return nodeCount;
+    }
+
+    // Get the height of this tree, 0 for an empty tree
+    public int height(){
+        return height(root);
+    }
+
+    // Add an element to this tree. Return true if we
+    // successfully perform an insertion, O(log(n))
+    public boolean add(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+
+        if(root == null){
+            root = new Node(elem, null);
+            nodeCount++;
+            modCount++;
+            return true;
+        }
+
+        // Walk down to the leaf position where elem belongs. Finding
+        // an equal value on the way means it's already in the tree.
+        Node node = root, parent;
+        int cmp;
+        do {
+            parent = node;
+            cmp = elem.compareTo(node.data);
+            if(cmp < 0) node = node.left;
+            else if(cmp > 0) node = node.right;
+            else return false;
+        } while(node != null);
+
+        Node leaf = new Node(elem, parent);
+        if(cmp < 0) parent.left = leaf;
+        else parent.right = leaf;
+        nodeCount++;
+        modCount++;
+
+        rebalance(parent);
+        return true;
+    }
+
+    // Remove a value from this tree if it exists, O(log(n))
+    public boolean remove(T elem){
+        if(elem == null) return false;
+
+        Node node = findNode(elem);
+        if(node == null) return false;
+
+        // A node with two children takes the value of its successor (the
+        // leftmost node in the right subtree) and we remove that node
+        // instead, which has no left child.
+        if(node.left != null && node.right != null){
+            Node successor = findMin(node.right);
+            node.data = successor.data;
+            node = successor;
+        }
+
+        // Now node has at most one child, splice it out
+        Node child = node.left != null ? node.left : node.right;
+        Node parent = node.parent;
+        if(child != null) child.parent = parent;
+        replaceChild(parent, node, child);
+
+        // Memory clearup
+        node.data = null;
+        node.left = node.right = node.parent = null;
+        nodeCount--;
+        modCount++;
+
+        rebalance(parent);
+        return true;
+    }
+
+    // Returns true is the element exists in the tree, O(log(n))
+    public boolean contains(T elem){
+        if(elem == null) return false;
+        return findNode(elem) != null;
+    }
+
+    // Return the number of elements strictly smaller than elem, O(log(n))
+    public int rank(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+
+        int rank = 0;
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp <= 0){
+                node = node.left;
+            } else {
+                // Everything in the left subtree and the node itself are smaller
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Return the k-th smallest element, k starts from 0, O(log(n))
+    public T select(int k){
+        if(k < 0 || k >= nodeCount) throw new IllegalArgumentException("Illegal index: " + k);
+
+        Node node = root;
+        while(true){
+            int leftSize = size(node.left);
+            if(k < leftSize){
+                node = node.left;
+            } else if(k > leftSize){
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.data;
+            }
+        }
+    }
+
+    // Return the largest element <= elem, or null if there is none, O(log(n))
+    public T floor(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+
+        T best = null;
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp == 0) return node.data;
+            if(cmp < 0){
+                node = node.left;
+            } else {
+                best = node.data;
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    // Return the smallest element >= elem, or null if there is none, O(log(n))
+    public T ceiling(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+        Node node = ceilingNode(elem);
+        return node == null ? null : node.data;
+    }
+
+    // Return the number of elements in [lo, hi), O(log(n))
+    public int countInRange(T lo, T hi){
+        if(lo == null || hi == null) throw new IllegalArgumentException();
+        if(lo.compareTo(hi) >= 0) return 0;
+        return rank(hi) - rank(lo);
+    }
+
+    // Lazily iterate over the elements in [lo, hi) in ascending order.
+    // Nothing is copied, each step moves to the in-order successor through
+    // the parent links, so a page of k elements costs O(log(n) + k). The
+    // iterator throws if the tree is modified while iterating.
+    public Iterable<T> range(T lo, T hi){
+        if(lo == null || hi == null) throw new IllegalArgumentException();
+
+        return () -> new java.util.Iterator<T>(){
+            private final int expectedModCount = modCount;
+            private Node next = lo.compareTo(hi) < 0 ? ceilingNode(lo) : null;
+
+            @Override
+            public boolean hasNext(){
+                if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
+                return next != null && next.data.compareTo(hi) < 0;
+            }
+
+            @Override
+            public T next(){
+                if(!hasNext()) throw new java.util.NoSuchElementException();
+                T data = next.data;
+                next = successor(next);
+                return data;
+            }
+        };
+    }
+
+    // Find the node with the smallest value >= elem or null if there is none
+    private Node ceilingNode(T elem){
+        Node best = null;
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp == 0) return node;
+            if(cmp > 0){
+                node = node.right;
+            } else {
+                best = node;
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    // Find the in-order successor of node or null if node is the largest
+    private Node successor(Node node){
+        if(node.right != null) return findMin(node.right);
+
+        // Climb until we come up from a left child
+        Node parent = node.parent;
+        while(parent != null && node == parent.right){
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    // Find the node holding elem or null if there is none
+    private Node findNode(T elem){
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp < 0) node = node.left;
+            else if(cmp > 0) node = node.right;
+            else return node;
+        }
+        return null;
+    }
+
+    // Helper method to find the leftmost node (which has smallest value)
+    private Node findMin(Node node){
+        while(node.left != null) node = node.left;
+        return node;
+    }
+
+    // Walk from node up to the root, updating heights and rotating
+    // every node that became unbalanced
+    private void rebalance(Node node){
+        while(node != null){
+            node = balance(node);
+            node = node.parent;
+        }
+    }
+
+    // Update the height of node and rotate it if its subtrees differ in
+    // height by more than one. Returns the new root of this subtree.
+    private Node balance(Node node){
+        update(node);
+        int bf = height(node.left) - height(node.right);
+
+        // Left heavy
+        if(bf > 1){
+            // Left-right case, turn it into a left-left case first
+            if(height(node.left.left) < height(node.left.right)) rotateLeft(node.left);
+            return rotateRight(node);
+
+        // Right heavy
+        } else if(bf < -1){
+            // Right-left case, turn it into a right-right case first
+            if(height(node.right.right) < height(node.right.left)) rotateRight(node.right);
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    //     x              y
+    //    / \            / \
+    //   a   y    =>    x   c
+    //      / \        / \
+    //     b   c      a   b
+    private Node rotateLeft(Node x){
+        Node y = x.right;
+        x.right = y.left;
+        if(y.left != null) y.left.parent = x;
+
+        y.parent = x.parent;
+        replaceChild(x.parent, x, y);
+
+        y.left = x;
+        x.parent = y;
+
+        update(x);
+        update(y);
+        return y;
+    }
+
+    //       x          y
+    //      / \        / \
+    //     y   c  =>  a   x
+    //    / \            / \
+    //   a   b          b   c
+    private Node rotateRight(Node x){
+        Node y = x.left;
+        x.left = y.right;
+        if(y.right != null) y.right.parent = x;
+
+        y.parent = x.parent;
+        replaceChild(x.parent, x, y);
+
+        y.right = x;
+        x.parent = y;
+
+        update(x);
+        update(y);
+        return y;
+    }
+
+    // Point whatever referenced oldChild (parent or the root) at newChild
+    private void replaceChild(Node parent, Node oldChild, Node newChild){
+        if(parent == null) root = newChild;
+        else if(parent.left == oldChild) parent.left = newChild;
+        else parent.right = newChild;
+    }
+
+    // Recompute the height and size of node from its children
+    private void update(Node node){
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int height(Node node){
+        return node == null ? 0 : node.height;
+    }
+
+    private int size(Node node){
+        return node == null ? 0 : node.size;
+    }
+}
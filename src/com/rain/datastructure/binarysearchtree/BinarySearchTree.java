@@ -1,11 +1,28 @@
+package com.rain.datastructure.binarysearchtree;
 
+// A binary search tree. By default it does no balancing, so sorted input
+// degrades it into a linked list. Constructed with balanced = true it keeps
+// the same API but stores its elements in an AVLTree, which is iterative and
+// guarantees O(log(n)) height.
+//
+// The order statistic and range queries (rank, select, floor, ceiling,
+// countInRange, range) work in both modes. Balanced they take O(log(n))
+// using the AVL tree's subtree sizes; unbalanced there are no sizes to go
+// by, so rank/select walk the tree in order in O(n), and floor, ceiling and
+// range cost O(height) plus the elements visited.
 public class BinarySearchTree<T extends Comparable<T>>{
+    // Set in balanced mode, every operation is then delegated to it
+    private final AVLTree<T> balanced;
+
     // Tracks the numbers of nodes in this BST
     private int nodeCount = 0;
 
     // This BSt is a rooted tree so we maintain a handle on the root node
     private Node root = null;
-    
+
+    // Bumped on every structural change so range iterators can fail fast
+    private int modCount = 0;
+
     // Internal node containing node references
     // and the actual node data
     private class Node{
@@ -13,40 +30,58 @@ public class BinarySearchTree<T extends Comparable<T>>{
         Node left, right;
 
         public Node(Node left, Node right, T elem){
-            this.data = data;
+            this.data = elem;
             this.left = left;
             this.right = right;
         }
     }
 
+    // Construct an unbalanced tree
+    public BinarySearchTree(){
+        this(false);
+    }
+
+    // Construct a tree, self balancing (AVL) if 'balanced' is true
+    public BinarySearchTree(boolean balanced){
+        this.balanced = balanced ? new AVLTree<>() : null;
+    }
+
+    // Is this tree running in balanced mode?
+    public boolean isBalanced(){
+        return balanced != null;
+    }
+
     // Check if this binary tree is empty
     public boolean isEmpty(){
-        return nodeCount == 0;
+        return size() == 0;
     }
 
     // Get the number of nodes in this binary tree
     public int size(){
+        if(balanced != null) return balanced.size();
         return nodeCount;
     }
 
     // Add an element to this binary tree. Return true
     // if we successfully perform an insertion
     public boolean add(T elem) {
-        if(countain(elem)){
+        if(balanced != null) return balanced.add(elem);
+        if(contains(elem)){
             return false;
         } else {
-            root = add(root, elem)
+            root = add(root, elem);
             nodeCount++;
+            modCount++;
         }
 
-        return ture;
+        return true;
     }
 
     // Private method to recursively add a value in the binary tree
-    private Node add(Node node, elem){
+    private Node add(Node node, T elem){
         // Base case: found a leaf node
         if(node == null){
-            node = new Node(null, null, elem);
+            return new Node(null, null, elem);
         }
 
         // Pick a subtree to insert element
@@ -61,9 +96,11 @@ public class BinarySearchTree<T extends Comparable<T>>{
 
     // Remove a value from this binary tree if it exists, O(n)
     public boolean remove(T elem){
+        if(balanced != null) return balanced.remove(elem);
         if(contains(elem)){
             root = remove(root, elem);
             nodeCount--;
+            modCount++;
             return true;
         }
         return false;
@@ -142,11 +179,12 @@ public class BinarySearchTree<T extends Comparable<T>>{
 
     // Returns true is the element exists in the tree
     public boolean contains(T elem){
+        if(balanced != null) return balanced.contains(elem);
         return contains(root, elem);
     }
 
     // private recursive method to find an element in the tree
-    private boolean contains(node, elem){
+    private boolean contains(Node node, T elem){
         // Base case: reached bottom, value not found
         if(node == null) return false;
 
@@ -154,12 +192,12 @@ public class BinarySearchTree<T extends Comparable<T>>{
 
         // Dig into the left subtree because the value we're 
         // looking for is smaller than the current value 
-        if(elem < node){
+        if(cmp < 0){
             return contains(node.left, elem);
 
           // Dig into the right subtree because the value we're
           // looking for is greater than the current value 
-        } else if(elem > node) {
+        } else if(cmp > 0) {
             return contains(node.right, elem);
 
           // We found the value we're looking for
@@ -167,4 +205,132 @@ public class BinarySearchTree<T extends Comparable<T>>{
             return true;
         }
     }
+
+    // Return the number of elements strictly smaller than elem
+    public int rank(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+        if(balanced != null) return balanced.rank(elem);
+
+        // Count every node below elem, a node at or above it rules out its
+        // right subtree
+        int rank = 0;
+        java.util.ArrayDeque<Node> stack = new java.util.ArrayDeque<>();
+        if(root != null) stack.push(root);
+        while(!stack.isEmpty()){
+            Node node = stack.pop();
+            if(node.left != null) stack.push(node.left);
+            if(elem.compareTo(node.data) > 0){
+                rank++;
+                if(node.right != null) stack.push(node.right);
+            }
+        }
+        return rank;
+    }
+
+    // Return the k-th smallest element, k starts from 0
+    public T select(int k){
+        if(k < 0 || k >= size()) throw new IllegalArgumentException("Illegal index: " + k);
+        if(balanced != null) return balanced.select(k);
+
+        java.util.Iterator<T> iter = ascending(null, null);
+        for(int i = 0; i < k; i++) iter.next();
+        return iter.next();
+    }
+
+    // Return the largest element <= elem, or null if there is none
+    public T floor(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+        if(balanced != null) return balanced.floor(elem);
+
+        T best = null;
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp == 0) return node.data;
+            if(cmp < 0){
+                node = node.left;
+            } else {
+                best = node.data;
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    // Return the smallest element >= elem, or null if there is none
+    public T ceiling(T elem){
+        if(elem == null) throw new IllegalArgumentException();
+        if(balanced != null) return balanced.ceiling(elem);
+
+        T best = null;
+        Node node = root;
+        while(node != null){
+            int cmp = elem.compareTo(node.data);
+            if(cmp == 0) return node.data;
+            if(cmp > 0){
+                node = node.right;
+            } else {
+                best = node.data;
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    // Return the number of elements in [lo, hi)
+    public int countInRange(T lo, T hi){
+        if(lo == null || hi == null) throw new IllegalArgumentException();
+        if(balanced != null) return balanced.countInRange(lo, hi);
+
+        int count = 0;
+        for(java.util.Iterator<T> iter = ascending(lo, hi); iter.hasNext(); iter.next()) count++;
+        return count;
+    }
+
+    // Lazily iterate over the elements in [lo, hi) in ascending order. The
+    // iterator throws if the tree is modified while iterating.
+    public Iterable<T> range(T lo, T hi){
+        if(lo == null || hi == null) throw new IllegalArgumentException();
+        if(balanced != null) return balanced.range(lo, hi);
+        return () -> ascending(lo, hi);
+    }
+
+    // In-order iterator over [lo, hi), a null bound means unbounded. An
+    // explicit stack holds the path of nodes still to visit, so a degenerate
+    // tree can't overflow the call stack.
+    private java.util.Iterator<T> ascending(T lo, T hi){
+        return new java.util.Iterator<T>(){
+            private final int expectedModCount = modCount;
+            private final java.util.ArrayDeque<Node> stack = new java.util.ArrayDeque<>();
+            {
+                pushLeft(root);
+            }
+
+            // Push node and its left spine, skipping nodes below lo
+            private void pushLeft(Node node){
+                while(node != null){
+                    if(lo != null && node.data.compareTo(lo) < 0){
+                        node = node.right;
+                    } else {
+                        stack.push(node);
+                        node = node.left;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext(){
+                if(expectedModCount != modCount) throw new java.util.ConcurrentModificationException();
+                return !stack.isEmpty() && (hi == null || stack.peek().data.compareTo(hi) < 0);
+            }
+
+            @Override
+            public T next(){
+                if(!hasNext()) throw new java.util.NoSuchElementException();
+                Node node = stack.pop();
+                pushLeft(node.right);
+                return node.data;
+            }
+        };
+    }
 }
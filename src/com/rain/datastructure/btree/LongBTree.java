@@ -0,0 +1,253 @@
+package com.rain.datastructure.btree;
+
+import java.util.Arrays;
+
+// BTree specialised for primitive long keys. The keys of a node sit in one
+// long[] so a node search never dereferences or unboxes anything, and an
+// entry costs about 8 bytes plus its share of the node overhead.
+public class LongBTree{
+	private static final int DEFAULT_MIN_DEGREE = 32;
+
+	// Minimum degree: nodes other than the root hold t-1..2t-1 keys
+	private final int t;
+
+	private Node root;
+	private int size = 0;
+
+	private static class Node{
+		long[] keys;
+		Node[] children;	// null for a leaf
+		int n;				// number of keys in use
+
+		Node(int t, boolean leaf){
+			keys = new long[2 * t - 1];
+			if(!leaf) children = new Node[2 * t];
+		}
+
+		boolean isLeaf(){
+			return children == null;
+		}
+	}
+
+	public LongBTree(){
+		this(DEFAULT_MIN_DEGREE);
+	}
+
+	public LongBTree(int minDegree){
+		if(minDegree < 2) throw new IllegalArgumentException("Minimum degree must be at least 2: " + minDegree);
+		t = minDegree;
+		root = new Node(t, true);
+	}
+
+	// Return the number of elements in the set
+	public int size(){
+		return size;
+	}
+
+	// Is the set empty?
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	// Returns true is the element exists in the tree, O(log(n))
+	public boolean contains(long elem){
+		Node node = root;
+		while(true){
+			int i = search(node, elem);
+			if(i >= 0) return true;
+			if(node.isLeaf()) return false;
+			node = node.children[-i - 1];
+		}
+	}
+
+	// Add an element to the set. Return true if it
+	// wasn't in the set already, O(log(n))
+	public boolean add(long elem){
+		// A full root is split first, which is the only way the tree grows taller
+		if(root.n == 2 * t - 1){
+			Node newRoot = new Node(t, false);
+			newRoot.children[0] = root;
+			splitChild(newRoot, 0);
+			root = newRoot;
+		}
+
+		Node node = root;
+		while(true){
+			int i = search(node, elem);
+			if(i >= 0) return false;
+			i = -i - 1;
+
+			if(node.isLeaf()){
+				System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+				node.keys[i] = elem;
+				node.n++;
+				size++;
+				return true;
+			}
+
+			// Split a full child before entering it so there's always
+			// room to push a median up into the current node
+			if(node.children[i].n == 2 * t - 1){
+				splitChild(node, i);
+				if(elem == node.keys[i]) return false;
+				if(elem > node.keys[i]) i++;
+			}
+			node = node.children[i];
+		}
+	}
+
+	// Remove an element from the set if it exists, O(log(n))
+	public boolean remove(long elem){
+		boolean removed = false;
+		Node node = root;
+		while(true){
+			int i = search(node, elem);
+
+			// The key is in this node
+			if(i >= 0){
+				if(node.isLeaf()){
+					System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1);
+					node.n--;
+					size--;
+					removed = true;
+					break;
+				}
+
+				Node left = node.children[i], right = node.children[i + 1];
+				if(left.n >= t){
+					// Replace the key with its predecessor and go delete that instead
+					long pred = max(left);
+					node.keys[i] = pred;
+					elem = pred;
+					node = left;
+				} else if(right.n >= t){
+					// Replace the key with its successor and go delete that instead
+					long succ = min(right);
+					node.keys[i] = succ;
+					elem = succ;
+					node = right;
+				} else {
+					// Both neighbours are minimal, merge them around the key
+					merge(node, i);
+					node = left;
+				}
+				continue;
+			}
+
+			// The key isn't here, go down the child that would hold it
+			if(node.isLeaf()) break;
+			i = -i - 1;
+
+			// Make sure the child has a spare key before entering it so a
+			// deletion further down never leaves a node underfull
+			if(node.children[i].n == t - 1){
+				if(i > 0 && node.children[i - 1].n >= t){
+					borrowFromLeft(node, i);
+				} else if(i < node.n && node.children[i + 1].n >= t){
+					borrowFromRight(node, i);
+				} else if(i < node.n){
+					merge(node, i);
+				} else {
+					merge(node, --i);
+				}
+			}
+			node = node.children[i];
+		}
+
+		// Merging the root's last two children leaves it empty, drop a level
+		if(root.n == 0 && !root.isLeaf()) root = root.children[0];
+		return removed;
+	}
+
+	// Binary search the keys of node. Returns the index of elem or
+	// -(insertion point) - 1 like Arrays.binarySearch
+	private int search(Node node, long elem){
+		return Arrays.binarySearch(node.keys, 0, node.n, elem);
+	}
+
+	// Largest key in the subtree rooted at node
+	private long max(Node node){
+		while(!node.isLeaf()) node = node.children[node.n];
+		return node.keys[node.n - 1];
+	}
+
+	// Smallest key in the subtree rooted at node
+	private long min(Node node){
+		while(!node.isLeaf()) node = node.children[0];
+		return node.keys[0];
+	}
+
+	// Split the full child i of parent into two nodes of t-1 keys and move
+	// the median key up into parent. Assumes parent isn't full.
+	private void splitChild(Node parent, int i){
+		Node full = parent.children[i];
+		Node right = new Node(t, full.isLeaf());
+
+		System.arraycopy(full.keys, t, right.keys, 0, t - 1);
+		if(!full.isLeaf()) System.arraycopy(full.children, t, right.children, 0, t);
+		right.n = t - 1;
+
+		long median = full.keys[t - 1];
+		if(!full.isLeaf()) Arrays.fill(full.children, t, 2 * t, null);
+		full.n = t - 1;
+
+		System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.n - i);
+		parent.children[i + 1] = right;
+		System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.n - i);
+		parent.keys[i] = median;
+		parent.n++;
+	}
+
+	// Merge child i+1 and the key between them into child i. Both children
+	// hold t-1 keys, so the result is a full node of 2t-1 keys.
+	private void merge(Node parent, int i){
+		Node left = parent.children[i];
+		Node right = parent.children[i + 1];
+
+		left.keys[left.n] = parent.keys[i];
+		System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+		if(!left.isLeaf()) System.arraycopy(right.children, 0, left.children, left.n + 1, right.n + 1);
+		left.n += right.n + 1;
+
+		System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1);
+		System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1);
+		parent.n--;
+		parent.children[parent.n + 1] = null;
+	}
+
+	// Rotate one key from child i-1 through the parent into child i
+	private void borrowFromLeft(Node parent, int i){
+		Node child = parent.children[i];
+		Node sibling = parent.children[i - 1];
+
+		System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+		child.keys[0] = parent.keys[i - 1];
+		if(!child.isLeaf()){
+			System.arraycopy(child.children, 0, child.children, 1, child.n + 1);
+			child.children[0] = sibling.children[sibling.n];
+			sibling.children[sibling.n] = null;
+		}
+		child.n++;
+
+		parent.keys[i - 1] = sibling.keys[sibling.n - 1];
+		sibling.n--;
+	}
+
+	// Rotate one key from child i+1 through the parent into child i
+	private void borrowFromRight(Node parent, int i){
+		Node child = parent.children[i];
+		Node sibling = parent.children[i + 1];
+
+		child.keys[child.n] = parent.keys[i];
+		if(!child.isLeaf()){
+			child.children[child.n + 1] = sibling.children[0];
+			System.arraycopy(sibling.children, 1, sibling.children, 0, sibling.n);
+			sibling.children[sibling.n] = null;
+		}
+		child.n++;
+
+		parent.keys[i] = sibling.keys[0];
+		System.arraycopy(sibling.keys, 1, sibling.keys, 0, sibling.n - 1);
+		sibling.n--;
+	}
+}
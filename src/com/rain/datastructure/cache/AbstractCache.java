@@ -0,0 +1,172 @@
+package com.rain.datastructure.cache;
+
+// The part every single threaded cache shares: a HashMap from key to entry
+// for the O(1) lookup, the weight bookkeeping and the statistics. A policy
+// subclass keeps its entries on DoublyLinkedList chains and holds on to each
+// entry's node, so reordering and unlinking an entry never searches a list.
+//
+// Subclasses are not thread safe, wrap them in a StripedCache for that.
+
+import java.util.HashMap;
+import java.util.function.ToIntBiFunction;
+
+abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> implements Cache<K, V>{
+	static class Entry<K, V>{
+		final K key;
+		V value;
+		int weight;
+
+		Entry(K key, V value, int weight){
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	final HashMap<K, E> map = new HashMap<>();
+	final long maximumWeight;
+	long weightedSize = 0;
+
+	private final ToIntBiFunction<? super K, ? super V> weigher;
+	private long hits, misses, evictions;
+
+	AbstractCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher){
+		if(maximumWeight < 1) throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+	}
+
+	// Build the policy's entry type
+	abstract E newEntry(K key, V value, int weight);
+
+	// A new entry was added to the map, link it into the policy's lists
+	abstract void onInsert(E e);
+
+	// An entry was read or overwritten
+	abstract void onAccess(E e);
+
+	// An entry is leaving the cache, unlink it from the policy's lists
+	abstract void onRemove(E e);
+
+	// The entry the policy wants to evict next, only called when not empty
+	abstract E victim();
+
+	// put() replaced the value of an entry, e.weight already holds the new
+	// weight. Counts as an access unless the policy says otherwise.
+	void onUpdate(E e, int oldWeight){
+		onAccess(e);
+	}
+
+	// A get() found nothing for key
+	void onMiss(K key){}
+
+	// Evict before a new entry of the given weight goes in, so the new
+	// entry itself is never the victim (under LFU it would always be)
+	void makeRoom(int weight){
+		while(!map.isEmpty() && weightedSize + weight > maximumWeight) evictEntry(victim());
+	}
+
+	// Evict until the entries fit into the maximum weight again
+	void evict(){
+		while(weightedSize > maximumWeight) evictEntry(victim());
+	}
+
+	// Drop an entry chosen by the policy and count the eviction
+	final void evictEntry(E e){
+		removeEntry(e);
+		evictions++;
+	}
+
+	private void removeEntry(E e){
+		map.remove(e.key);
+		onRemove(e);
+		weightedSize -= e.weight;
+	}
+
+	@Override
+	public V get(K key){
+		E e = map.get(key);
+		if(e == null){
+			misses++;
+			onMiss(key);
+			return null;
+		}
+		hits++;
+		onAccess(e);
+		return e.value;
+	}
+
+	@Override
+	public void put(K key, V value){
+		if(key == null || value == null) throw new IllegalArgumentException();
+		int weight = weigher == null ? 1 : weigher.applyAsInt(key, value);
+		if(weight < 0) throw new IllegalArgumentException("Negative weight: " + weight);
+
+		// Never worth caching, and keeping it would flush everything else
+		if(weight > maximumWeight){
+			remove(key);
+			return;
+		}
+
+		E e = map.get(key);
+		if(e == null){
+			makeRoom(weight);
+			e = newEntry(key, value, weight);
+			map.put(key, e);
+			weightedSize += weight;
+			onInsert(e);
+		} else {
+			int oldWeight = e.weight;
+			e.value = value;
+			e.weight = weight;
+			weightedSize += weight - oldWeight;
+			onUpdate(e, oldWeight);
+		}
+		evict();
+	}
+
+	@Override
+	public V remove(K key){
+		E e = map.get(key);
+		if(e == null) return null;
+		removeEntry(e);
+		return e.value;
+	}
+
+	@Override
+	public boolean containsKey(K key){
+		return map.containsKey(key);
+	}
+
+	@Override
+	public int size(){
+		return map.size();
+	}
+
+	@Override
+	public long weightedSize(){
+		return weightedSize;
+	}
+
+	@Override
+	public long maximumWeight(){
+		return maximumWeight;
+	}
+
+	@Override
+	public void clear(){
+		for(E e : map.values()) onRemove(e);
+		map.clear();
+		weightedSize = 0;
+	}
+
+	@Override
+	public CacheStats stats(){
+		return new CacheStats(hits, misses, evictions);
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + "{size=" + size() + ", weight=" + weightedSize + "/" + maximumWeight + "}";
+	}
+}
@@ -0,0 +1,71 @@
+package com.rain.datastructure.cache;
+
+// A bounded key/value cache. Every entry has a weight (1 by default) and
+// the cache evicts entries once their total weight goes over the maximum.
+// Which entry is evicted depends on the policy:
+//
+//   LRU       the least recently used entry
+//   LFU       the least frequently used entry, oldest first among equals
+//   TINY_LFU  W-TinyLFU: a small LRU window in front of a segmented LRU,
+//             with a new entry only let into the main space if it has been
+//             asked for more often than the entry it would push out
+//
+//   Cache<String, Page> pages = Cache.create(Cache.Policy.TINY_LFU, 10_000);
+
+import java.util.function.ToIntBiFunction;
+
+public interface Cache<K, V>{
+	// The eviction policies create() can build
+	enum Policy { LRU, LFU, TINY_LFU }
+
+	// Return the value for key and count a hit, or null and count a miss
+	public V get(K key);
+
+	// Map key to value, evicting other entries if the cache goes over its
+	// maximum weight. A single entry heavier than maximumEntryWeight() is
+	// not kept.
+	public void put(K key, V value);
+
+	// Remove key and return its value, or null if it wasn't cached
+	public V remove(K key);
+
+	// Check for key without counting a hit or miss or touching its recency
+	public boolean containsKey(K key);
+
+	// Return the number of entries
+	public int size();
+
+	// Return the total weight of the entries
+	public long weightedSize();
+
+	// Return the maximum total weight
+	public long maximumWeight();
+
+	// Return the weight of the heaviest entry put() keeps. The same as
+	// maximumWeight() unless the cache splits its capacity into parts.
+	public default long maximumEntryWeight(){
+		return maximumWeight();
+	}
+
+	// Remove every entry, the statistics are kept
+	public void clear();
+
+	// Return the hit/miss/eviction counts so far
+	public CacheStats stats();
+
+	// Build a cache holding at most maximumSize entries
+	public static <K, V> Cache<K, V> create(Policy policy, long maximumSize){
+		return create(policy, maximumSize, null);
+	}
+
+	// Build a cache whose entries weigh weigher(key, value) and together
+	// weigh at most maximumWeight. A null weigher weighs every entry 1.
+	public static <K, V> Cache<K, V> create(Policy policy, long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher){
+		switch(policy){
+			case LRU:      return new LruCache<>(maximumWeight, weigher);
+			case LFU:      return new LfuCache<>(maximumWeight, weigher);
+			case TINY_LFU: return new TinyLfuCache<>(maximumWeight, weigher);
+			default: throw new IllegalArgumentException("Unknown policy: " + policy);
+		}
+	}
+}
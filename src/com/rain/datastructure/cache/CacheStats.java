@@ -0,0 +1,48 @@
+package com.rain.datastructure.cache;
+
+// An immutable snapshot of a cache's hit, miss and eviction counts
+public final class CacheStats{
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+
+	public CacheStats(long hitCount, long missCount, long evictionCount){
+		if(hitCount < 0 || missCount < 0 || evictionCount < 0) throw new IllegalArgumentException();
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+	}
+
+	public long hitCount(){
+		return hitCount;
+	}
+
+	public long missCount(){
+		return missCount;
+	}
+
+	public long evictionCount(){
+		return evictionCount;
+	}
+
+	// Return the number of get() calls
+	public long requestCount(){
+		return hitCount + missCount;
+	}
+
+	// Return hits / requests, or 1 if there were no requests
+	public double hitRate(){
+		long requests = requestCount();
+		return requests == 0 ? 1.0 : (double) hitCount / requests;
+	}
+
+	// Return the sum of both snapshots, used to total up striped caches
+	public CacheStats plus(CacheStats other){
+		return new CacheStats(hitCount + other.hitCount, missCount + other.missCount, evictionCount + other.evictionCount);
+	}
+
+	@Override
+	public String toString(){
+		return String.format("CacheStats{hits=%d, misses=%d, evictions=%d, hitRate=%.4f}", hitCount, missCount, evictionCount, hitRate());
+	}
+}
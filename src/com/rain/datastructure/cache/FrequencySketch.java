@@ -0,0 +1,88 @@
+package com.rain.datastructure.cache;
+
+// A count-min sketch of 4-bit counters estimating how often each key was
+// seen recently, the "TinyLFU" part of TinyLfuCache. Each long of the table
+// packs 16 counters and a key bumps one counter in each of 4 rows.
+//
+// Counters stop at 15, and after sampleSize increments every counter is
+// halved, so the estimate favours recent popularity and old hot keys fade.
+final class FrequencySketch{
+	private static final long[] SEEDS = {
+		0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	private long[] table;
+	private int tableMask;
+	private int sampleSize;
+	private int additions;
+
+	// Size the sketch for about 'expectedKeys' distinct hot keys
+	FrequencySketch(long expectedKeys){
+		ensureCapacity(expectedKeys);
+	}
+
+	// Grow the table for more keys. The counts are lost, which is fine for
+	// an estimate that is halved regularly anyway.
+	void ensureCapacity(long expectedKeys){
+		int length = Integer.highestOneBit((int) Math.min(Math.max(expectedKeys, 16), 1 << 24) - 1) << 1;
+		if(table != null && table.length >= length) return;
+		table = new long[length];
+		tableMask = length - 1;
+		sampleSize = (int) Math.min(10L * length, Integer.MAX_VALUE);
+		additions = 0;
+	}
+
+	// Return the estimated number of times key was seen, 0..15
+	int frequency(Object key){
+		int h = spread(key.hashCode());
+		int min = 15;
+		for(int row = 0; row < 4; row++){
+			long index = indexOf(h, row);
+			int counter = (int) ((table[(int) index] >>> (index >>> 32)) & 0xF);
+			min = Math.min(min, counter);
+		}
+		return min;
+	}
+
+	// Record one more sighting of key
+	void increment(Object key){
+		int h = spread(key.hashCode());
+		boolean added = false;
+		for(int row = 0; row < 4; row++){
+			long index = indexOf(h, row);
+			int i = (int) index;
+			int shift = (int) (index >>> 32);
+			if(((table[i] >>> shift) & 0xF) != 0xF){
+				table[i] += 1L << shift;
+				added = true;
+			}
+		}
+		if(added && ++additions == sampleSize) reset();
+	}
+
+	// Halve every counter, the shift leaks each counter's low bit into its
+	// neighbour's high bit, which the mask clears
+	private void reset(){
+		for(int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+		additions >>>= 1;
+	}
+
+	// Table slot in the low 32 bits, bit offset of the counter in the high
+	private long indexOf(int h, int row){
+		long hash = (h + SEEDS[row]) * SEEDS[row];
+		hash += hash >>> 32;
+		int slot = (int) hash & tableMask;
+		int shift = (int) ((hash >>> 40) & 0xF) << 2;
+		return ((long) shift << 32) | slot;
+	}
+
+	private static int spread(int h){
+		h ^= h >>> 17;
+		h *= 0xED5AD4BB;
+		h ^= h >>> 11;
+		h *= 0xAC4C1B51;
+		h ^= h >>> 15;
+		return h;
+	}
+}
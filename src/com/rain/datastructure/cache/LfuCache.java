@@ -0,0 +1,106 @@
+package com.rain.datastructure.cache;
+
+// A least frequently used cache with O(1) operations (Shah, Mitra &
+// Matani's constant time LFU). The entries are grouped into buckets of equal
+// access count, and the buckets sit on a DoublyLinkedList in increasing
+// count order. Inside a bucket the entries are in recency order.
+//
+// A hit moves the entry from its bucket to the bucket for count+1, which is
+// the next bucket or a new one inserted right after, so there is never a
+// search. Eviction takes the oldest entry of the first (lowest count) bucket.
+
+import com.rain.datastructure.DoublyLinkedList;
+import java.util.function.ToIntBiFunction;
+
+public class LfuCache<K, V> extends AbstractCache<K, V, LfuCache.Node<K, V>>{
+	static final class Node<K, V> extends AbstractCache.Entry<K, V>{
+		Bucket<K, V> bucket;
+		DoublyLinkedList.Node<Node<K, V>> handle;
+
+		Node(K key, V value, int weight){
+			super(key, value, weight);
+		}
+	}
+
+	// The entries that have been accessed exactly 'count' times
+	static final class Bucket<K, V>{
+		final long count;
+		final DoublyLinkedList<Node<K, V>> entries = new DoublyLinkedList<>();
+		DoublyLinkedList.Node<Bucket<K, V>> handle;
+
+		Bucket(long count){
+			this.count = count;
+		}
+	}
+
+	private final DoublyLinkedList<Bucket<K, V>> buckets = new DoublyLinkedList<>();
+
+	// A cache holding at most maximumSize entries
+	public LfuCache(long maximumSize){
+		this(maximumSize, null);
+	}
+
+	// A cache whose entries weigh weigher(key, value), at most maximumWeight in total
+	public LfuCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher){
+		super(maximumWeight, weigher);
+	}
+
+	// Return how many times key has been put or read since it was cached,
+	// or 0 if it isn't cached
+	public long frequency(K key){
+		Node<K, V> e = map.get(key);
+		return e == null ? 0 : e.bucket.count;
+	}
+
+	@Override
+	Node<K, V> newEntry(K key, V value, int weight){
+		return new Node<>(key, value, weight);
+	}
+
+	@Override
+	void onInsert(Node<K, V> e){
+		DoublyLinkedList.Node<Bucket<K, V>> first = buckets.firstNode();
+		Bucket<K, V> bucket;
+		if(first != null && first.getData().count == 1){
+			bucket = first.getData();
+		} else {
+			bucket = new Bucket<>(1);
+			bucket.handle = buckets.addFirst(bucket);
+		}
+		e.bucket = bucket;
+		e.handle = bucket.entries.addLast(e);
+	}
+
+	@Override
+	void onAccess(Node<K, V> e){
+		Bucket<K, V> from = e.bucket;
+		DoublyLinkedList.Node<Bucket<K, V>> next = from.handle.next();
+
+		Bucket<K, V> to;
+		if(next != null && next.getData().count == from.count + 1){
+			to = next.getData();
+		} else {
+			to = new Bucket<>(from.count + 1);
+			to.handle = buckets.insertAfter(from.handle, to);
+		}
+
+		// Relink the entry's node into the next bucket, no allocation
+		to.entries.splice(from.entries, e.handle, e.handle);
+		e.bucket = to;
+		if(from.entries.isEmpty()) buckets.remove(from.handle);
+	}
+
+	@Override
+	void onRemove(Node<K, V> e){
+		Bucket<K, V> bucket = e.bucket;
+		bucket.entries.remove(e.handle);
+		if(bucket.entries.isEmpty()) buckets.remove(bucket.handle);
+		e.bucket = null;
+		e.handle = null;
+	}
+
+	@Override
+	Node<K, V> victim(){
+		return buckets.peekFirst().entries.peekFirst();
+	}
+}
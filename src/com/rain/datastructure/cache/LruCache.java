@@ -0,0 +1,56 @@
+package com.rain.datastructure.cache;
+
+// A least recently used cache. The entries sit on one DoublyLinkedList in
+// recency order, the least recently used at the head. A hit moves the
+// entry's node to the tail and eviction takes the head, both O(1).
+
+import com.rain.datastructure.DoublyLinkedList;
+import java.util.function.ToIntBiFunction;
+
+public class LruCache<K, V> extends AbstractCache<K, V, LruCache.Node<K, V>>{
+	static final class Node<K, V> extends AbstractCache.Entry<K, V>{
+		DoublyLinkedList.Node<Node<K, V>> handle;
+
+		Node(K key, V value, int weight){
+			super(key, value, weight);
+		}
+	}
+
+	private final DoublyLinkedList<Node<K, V>> order = new DoublyLinkedList<>();
+
+	// A cache holding at most maximumSize entries
+	public LruCache(long maximumSize){
+		this(maximumSize, null);
+	}
+
+	// A cache whose entries weigh weigher(key, value), at most maximumWeight in total
+	public LruCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher){
+		super(maximumWeight, weigher);
+	}
+
+	@Override
+	Node<K, V> newEntry(K key, V value, int weight){
+		return new Node<>(key, value, weight);
+	}
+
+	@Override
+	void onInsert(Node<K, V> e){
+		e.handle = order.addLast(e);
+	}
+
+	@Override
+	void onAccess(Node<K, V> e){
+		order.moveToBack(e.handle);
+	}
+
+	@Override
+	void onRemove(Node<K, V> e){
+		order.remove(e.handle);
+		e.handle = null;
+	}
+
+	@Override
+	Node<K, V> victim(){
+		return order.peekFirst();
+	}
+}
@@ -0,0 +1,183 @@
+package com.rain.datastructure.cache;
+
+// A thread safe cache made of several single threaded caches (stripes),
+// each guarded by its own lock. A key always goes to the stripe picked by
+// its hash, so threads working on different keys rarely wait for each
+// other. Every stripe gets an equal share of the maximum weight and evicts
+// on its own, so the policy is applied per stripe rather than globally.
+// That share also caps a single entry: one heavier than
+// maximumEntryWeight() is not kept even if it is under maximumWeight().
+//
+// Even get() takes the stripe's lock since a hit reorders the stripe's lists.
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+public class StripedCache<K, V> implements Cache<K, V>{
+	private static final class Stripe<K, V>{
+		final ReentrantLock lock = new ReentrantLock();
+		final Cache<K, V> cache;
+
+		// Keeps the locks of neighbouring stripes apart
+		long p01, p02, p03, p04, p05, p06, p07;
+
+		Stripe(Cache<K, V> cache){
+			this.cache = cache;
+		}
+	}
+
+	private final Stripe<K, V>[] stripes;
+	private final int mask;
+	private final long maximumWeight;
+
+	// A cache holding at most maximumSize entries with a stripe per core
+	public StripedCache(Policy policy, long maximumSize){
+		this(policy, maximumSize, null, 2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	// numStripes is rounded up to a power of two and lowered so that every
+	// stripe can hold at least one unit of weight
+	@SuppressWarnings("unchecked")
+	public StripedCache(Policy policy, long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, int numStripes){
+		if(numStripes < 1) throw new IllegalArgumentException("Illegal number of stripes: " + numStripes);
+		if(maximumWeight < 1) throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+		if(policy == null) throw new IllegalArgumentException();
+
+		int n = 1;
+		while(n < numStripes && n < (1 << 16)) n <<= 1;
+		while(n > 1 && n > maximumWeight) n >>>= 1;
+
+		this.maximumWeight = maximumWeight;
+		mask = n - 1;
+		stripes = (Stripe<K, V>[]) new Stripe<?, ?>[n];
+		for(int i = 0; i < n; i++){
+			// Spread the remainder over the first stripes
+			long share = maximumWeight / n + (i < maximumWeight % n ? 1 : 0);
+			stripes[i] = new Stripe<>(Cache.create(policy, share, weigher));
+		}
+	}
+
+	private Stripe<K, V> stripeFor(Object key){
+		if(key == null) throw new IllegalArgumentException();
+		int h = key.hashCode() * 0x9E3779B9;
+		return stripes[(h ^ (h >>> 16)) & mask];
+	}
+
+	@Override
+	public V get(K key){
+		Stripe<K, V> stripe = stripeFor(key);
+		stripe.lock.lock();
+		try {
+			return stripe.cache.get(key);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	@Override
+	public void put(K key, V value){
+		Stripe<K, V> stripe = stripeFor(key);
+		stripe.lock.lock();
+		try {
+			stripe.cache.put(key, value);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	@Override
+	public V remove(K key){
+		Stripe<K, V> stripe = stripeFor(key);
+		stripe.lock.lock();
+		try {
+			return stripe.cache.remove(key);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean containsKey(K key){
+		Stripe<K, V> stripe = stripeFor(key);
+		stripe.lock.lock();
+		try {
+			return stripe.cache.containsKey(key);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	// Return the number of entries. Exact when nothing is running concurrently
+	@Override
+	public int size(){
+		int size = 0;
+		for(Stripe<K, V> stripe : stripes){
+			stripe.lock.lock();
+			try {
+				size += stripe.cache.size();
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	// Return the total weight. Exact when nothing is running concurrently
+	@Override
+	public long weightedSize(){
+		long weight = 0;
+		for(Stripe<K, V> stripe : stripes){
+			stripe.lock.lock();
+			try {
+				weight += stripe.cache.weightedSize();
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return weight;
+	}
+
+	@Override
+	public long maximumWeight(){
+		return maximumWeight;
+	}
+
+	// Return the share of the smallest stripe, an entry has to fit into the
+	// stripe its key maps to
+	@Override
+	public long maximumEntryWeight(){
+		return maximumWeight / stripes.length;
+	}
+
+	// Return the number of stripes
+	public int stripes(){
+		return stripes.length;
+	}
+
+	@Override
+	public void clear(){
+		for(Stripe<K, V> stripe : stripes){
+			stripe.lock.lock();
+			try {
+				stripe.cache.clear();
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+	}
+
+	// Return the statistics summed over the stripes
+	@Override
+	public CacheStats stats(){
+		CacheStats total = new CacheStats(0, 0, 0);
+		for(Stripe<K, V> stripe : stripes){
+			stripe.lock.lock();
+			try {
+				total = total.plus(stripe.cache.stats());
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return total;
+	}
+}
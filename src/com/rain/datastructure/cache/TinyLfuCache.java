@@ -0,0 +1,178 @@
+package com.rain.datastructure.cache;
+
+// A W-TinyLFU cache (Einziger, Friedman & Manes). The entries live in three
+// DoublyLinkedList segments, each kept least recently used first:
+//
+//   window     ~1% of the weight. Every new entry starts here, so a burst of
+//              new keys can't flush the rest of the cache.
+//   probation  the main space's entries that haven't been hit since they
+//              got there
+//   protected  ~80% of the main space, entries hit while in probation. When
+//              it overflows its oldest entries drop back to probation.
+//
+// When the window overflows, its oldest entry becomes a candidate for the
+// main space. If the cache is full, the candidate is compared with the main
+// space's victim (the oldest probation entry) and the one a FrequencySketch
+// estimates to be asked for less often is evicted. Entries only ever move
+// between segments by splicing their node, so nothing is reallocated.
+
+import com.rain.datastructure.DoublyLinkedList;
+import java.util.function.ToIntBiFunction;
+
+public class TinyLfuCache<K, V> extends AbstractCache<K, V, TinyLfuCache.Node<K, V>>{
+	private static final byte WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+	static final class Node<K, V> extends AbstractCache.Entry<K, V>{
+		byte segment;
+		DoublyLinkedList.Node<Node<K, V>> handle;
+
+		Node(K key, V value, int weight){
+			super(key, value, weight);
+		}
+	}
+
+	private final DoublyLinkedList<Node<K, V>> window = new DoublyLinkedList<>();
+	private final DoublyLinkedList<Node<K, V>> probation = new DoublyLinkedList<>();
+	private final DoublyLinkedList<Node<K, V>> protectedEntries = new DoublyLinkedList<>();
+
+	private final long maxWindow;
+	private final long maxProtected;
+	private long windowWeight = 0;
+	private long protectedWeight = 0;
+
+	private final FrequencySketch sketch;
+
+	// A cache holding at most maximumSize entries
+	public TinyLfuCache(long maximumSize){
+		this(maximumSize, null);
+	}
+
+	// A cache whose entries weigh weigher(key, value), at most maximumWeight in total
+	public TinyLfuCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher){
+		super(maximumWeight, weigher);
+		maxWindow = Math.max(1, maximumWeight / 100);
+		maxProtected = (maximumWeight - maxWindow) / 5 * 4;
+		sketch = new FrequencySketch(Math.min(maximumWeight, 1 << 16));
+	}
+
+	@Override
+	Node<K, V> newEntry(K key, V value, int weight){
+		return new Node<>(key, value, weight);
+	}
+
+	@Override
+	void onInsert(Node<K, V> e){
+		sketch.ensureCapacity(map.size());
+		sketch.increment(e.key);
+		e.segment = WINDOW;
+		e.handle = window.addLast(e);
+		windowWeight += e.weight;
+	}
+
+	@Override
+	void onMiss(K key){
+		sketch.increment(key);
+	}
+
+	@Override
+	void onAccess(Node<K, V> e){
+		sketch.increment(e.key);
+		switch(e.segment){
+			case WINDOW:
+				window.moveToBack(e.handle);
+				break;
+			case PROBATION:
+				// A second hit proves the entry, promote it
+				protectedEntries.splice(probation, e.handle, e.handle);
+				e.segment = PROTECTED;
+				protectedWeight += e.weight;
+				demoteProtected(e);
+				break;
+			default:
+				protectedEntries.moveToBack(e.handle);
+		}
+	}
+
+	@Override
+	void onUpdate(Node<K, V> e, int oldWeight){
+		if(e.segment == WINDOW) windowWeight += e.weight - oldWeight;
+		else if(e.segment == PROTECTED) protectedWeight += e.weight - oldWeight;
+		onAccess(e);
+	}
+
+	@Override
+	void onRemove(Node<K, V> e){
+		if(e.segment == WINDOW){
+			window.remove(e.handle);
+			windowWeight -= e.weight;
+		} else if(e.segment == PROBATION){
+			probation.remove(e.handle);
+		} else {
+			protectedEntries.remove(e.handle);
+			protectedWeight -= e.weight;
+		}
+		e.handle = null;
+	}
+
+	// Fallback victim when the window is within its share but the cache is
+	// still too heavy: the oldest main entry, or the oldest window entry
+	@Override
+	Node<K, V> victim(){
+		if(!probation.isEmpty()) return probation.peekFirst();
+		if(!protectedEntries.isEmpty()) return protectedEntries.peekFirst();
+		return window.peekFirst();
+	}
+
+	// New entries always go into the window first, admission to the main
+	// space is decided after they are in
+	@Override
+	void makeRoom(int weight){}
+
+	@Override
+	void evict(){
+		// Overflowing window entries become candidates for the main space
+		while(windowWeight > maxWindow){
+			Node<K, V> candidate = window.peekFirst();
+			probation.splice(window, candidate.handle, candidate.handle);
+			candidate.segment = PROBATION;
+			windowWeight -= candidate.weight;
+			admit(candidate);
+		}
+
+		// An update that made an entry heavier can still leave us over
+		super.evict();
+	}
+
+	// Make room for a candidate that just joined probation, or evict it if
+	// it is less popular than the entries it would push out
+	private void admit(Node<K, V> candidate){
+		while(weightedSize > maximumWeight){
+			Node<K, V> victim = mainVictim(candidate);
+			if(victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)){
+				evictEntry(candidate);
+				return;
+			}
+			evictEntry(victim);
+		}
+	}
+
+	// The oldest main space entry other than the candidate
+	private Node<K, V> mainVictim(Node<K, V> candidate){
+		DoublyLinkedList.Node<Node<K, V>> h = probation.firstNode();
+		if(h != null && h.getData() == candidate) h = h.next();
+		if(h == null) h = protectedEntries.firstNode();
+		return h == null ? null : h.getData();
+	}
+
+	// Move the oldest protected entries back to probation until the
+	// protected segment fits its share again, never demoting 'keep'
+	private void demoteProtected(Node<K, V> keep){
+		while(protectedWeight > maxProtected){
+			Node<K, V> oldest = protectedEntries.peekFirst();
+			if(oldest == keep) break;
+			probation.splice(protectedEntries, oldest.handle, oldest.handle);
+			oldest.segment = PROBATION;
+			protectedWeight -= oldest.weight;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package com.rain.datastructure.hashtable;
+
+// A hash map from int keys to int values using open addressing with linear
+// probing, the primitive counterpart of ObjectIntHashMap. An empty slot is
+// marked by the key 0, so a mapping for key 0 itself is kept in two fields
+// outside the table.
+//
+// Removal uses backward shift deletion, there are no tombstones.
+
+import java.util.Arrays;
+
+public class IntIntHashMap{
+	private static final int FREE = 0;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int size = 0;	// mappings in the table, not counting key 0
+	private int resizeAt;
+
+	private boolean hasZeroKey = false;
+	private int zeroValue;
+
+	// Returned by get/put/remove when there is no mapping
+	private final int noEntryValue;
+
+	public IntIntHashMap(){
+		this(16);
+	}
+
+	public IntIntHashMap(int expectedSize){
+		this(expectedSize, -1);
+	}
+
+	// expectedSize mappings fit without growing, noEntryValue is what
+	// lookups of missing keys return
+	public IntIntHashMap(int expectedSize, int noEntryValue){
+		if(expectedSize < 0) throw new IllegalArgumentException("Illegal size: " + expectedSize);
+		this.noEntryValue = noEntryValue;
+		allocate(ObjectIntHashMap.capacityFor(expectedSize));
+	}
+
+	// Return the value returned for missing keys
+	public int noEntryValue(){
+		return noEntryValue;
+	}
+
+	public int size(){
+		return size + (hasZeroKey ? 1 : 0);
+	}
+
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Remove every mapping, keeping the table, O(capacity)
+	public void clear(){
+		Arrays.fill(keys, FREE);
+		size = 0;
+		hasZeroKey = false;
+	}
+
+	public boolean containsKey(int key){
+		if(key == FREE) return hasZeroKey;
+		return slotOf(key) >= 0;
+	}
+
+	// Return the value for key, or noEntryValue if there is none, O(1)
+	public int get(int key){
+		return getOrDefault(key, noEntryValue);
+	}
+
+	// Return the value for key, or defaultValue if there is none, O(1)
+	public int getOrDefault(int key, int defaultValue){
+		if(key == FREE) return hasZeroKey ? zeroValue : defaultValue;
+		int slot = slotOf(key);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	// Map key to value and return the old value or noEntryValue, O(1)
+	public int put(int key, int value){
+		if(key == FREE){
+			int old = hasZeroKey ? zeroValue : noEntryValue;
+			hasZeroKey = true;
+			zeroValue = value;
+			return old;
+		}
+		int slot = slotOf(key);
+		if(slot >= 0){
+			int old = values[slot];
+			values[slot] = value;
+			return old;
+		}
+		insert(~slot, key, value);
+		return noEntryValue;
+	}
+
+	// Add delta to the value of key, a missing key counting as 0, and
+	// return the new value, O(1)
+	public int addTo(int key, int delta){
+		if(key == FREE){
+			zeroValue = hasZeroKey ? zeroValue + delta : delta;
+			hasZeroKey = true;
+			return zeroValue;
+		}
+		int slot = slotOf(key);
+		if(slot >= 0) return values[slot] += delta;
+		insert(~slot, key, delta);
+		return delta;
+	}
+
+	// Remove key and return its value or noEntryValue, O(1)
+	public int remove(int key){
+		if(key == FREE){
+			if(!hasZeroKey) return noEntryValue;
+			hasZeroKey = false;
+			return zeroValue;
+		}
+		int slot = slotOf(key);
+		if(slot < 0) return noEntryValue;
+		int old = values[slot];
+		removeSlot(slot);
+		return old;
+	}
+
+	// Return a new array of the keys, in no particular order
+	public int[] keys(){
+		int[] result = new int[size()];
+		int n = 0;
+		if(hasZeroKey) result[n++] = FREE;
+		for(int k : keys){
+			if(k != FREE) result[n++] = k;
+		}
+		return result;
+	}
+
+	// Slot holding key, or ~slot of the empty slot where it would go
+	private int slotOf(int key){
+		int i = hash(key) & mask;
+		int k;
+		while((k = keys[i]) != FREE){
+			if(k == key) return i;
+			i = (i + 1) & mask;
+		}
+		return ~i;
+	}
+
+	private void insert(int slot, int key, int value){
+		keys[slot] = key;
+		values[slot] = value;
+		if(++size > resizeAt) rehash(keys.length << 1);
+	}
+
+	// Empty a slot, then walk the rest of its probe run and move back every
+	// entry whose home slot is at or before the hole
+	private void removeSlot(int hole){
+		int j = hole;
+		while(true){
+			j = (j + 1) & mask;
+			int k = keys[j];
+			if(k == FREE) break;
+			int home = hash(k) & mask;
+			if(((j - home) & mask) >= ((j - hole) & mask)){
+				keys[hole] = k;
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		keys[hole] = FREE;
+		size--;
+	}
+
+	private void rehash(int capacity){
+		if(keys.length == MAX_CAPACITY) throw new IllegalStateException("Map too large");
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for(int i = 0; i < oldKeys.length; i++){
+			int k = oldKeys[i];
+			if(k == FREE) continue;
+			int j = hash(k) & mask;
+			while(keys[j] != FREE) j = (j + 1) & mask;
+			keys[j] = k;
+			values[j] = oldValues[i];
+		}
+	}
+
+	private void allocate(int capacity){
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) Math.min(capacity * 3L / 4, MAX_CAPACITY - 1);
+	}
+
+	private static int hash(int key){
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder("{");
+		for(int k : keys()){
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(k).append('=').append(get(k));
+		}
+		return sb.append('}').toString();
+	}
+}
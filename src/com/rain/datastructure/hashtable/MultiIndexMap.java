@@ -0,0 +1,196 @@
+package com.rain.datastructure.hashtable;
+
+// Maps keys to the set of int positions they occur at, for structures like
+// an array backed heap that need "where is this value?" with duplicates
+// allowed. Every position belongs to at most one key.
+//
+// An ObjectIntHashMap maps each distinct key to a group id, and the
+// positions of a group form a doubly linked list threaded through three int
+// arrays indexed by position (prev, next, group). So adding, removing and
+// swapping positions is O(1) with no allocation, and nothing is stored per
+// position except those three ints.
+
+import java.util.Arrays;
+
+public class MultiIndexMap<K>{
+	private static final int NONE = -1;
+
+	// key -> group id
+	private final ObjectIntHashMap<K> groups;
+
+	// Per group: first position, number of positions and the key. A free
+	// group's 'head' links to the next free group.
+	private int[] head;
+	private int[] count;
+	private Object[] groupKey;
+	private int freeGroup = NONE;
+	private int groupsUsed = 0;
+
+	// Per position: neighbours in its group's list and the group, NONE if
+	// the position isn't mapped
+	private int[] prev;
+	private int[] next;
+	private int[] groupOf;
+
+	public MultiIndexMap(){
+		this(16);
+	}
+
+	// Positions below 'capacity' and that many distinct keys fit without growing
+	public MultiIndexMap(int capacity){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		capacity = Math.max(1, capacity);
+		groups = new ObjectIntHashMap<>(capacity, NONE);
+		head = new int[capacity];
+		count = new int[capacity];
+		groupKey = new Object[capacity];
+		prev = new int[capacity];
+		next = new int[capacity];
+		groupOf = new int[capacity];
+		Arrays.fill(groupOf, NONE);
+	}
+
+	// Return the number of distinct keys
+	public int size(){
+		return groups.size();
+	}
+
+	public boolean isEmpty(){
+		return groups.isEmpty();
+	}
+
+	public boolean containsKey(Object key){
+		return groups.containsKey(key);
+	}
+
+	// Return the number of positions key occurs at, O(1)
+	public int count(Object key){
+		int g = groups.get(key);
+		return g == NONE ? 0 : count[g];
+	}
+
+	// Return one of the positions of key, the most recently added, or -1, O(1)
+	public int anyIndex(Object key){
+		int g = groups.get(key);
+		return g == NONE ? -1 : head[g];
+	}
+
+	// Return the key at a position, or null if it isn't mapped, O(1)
+	@SuppressWarnings("unchecked")
+	public K keyAt(int index){
+		if(index < 0 || index >= groupOf.length || groupOf[index] == NONE) return null;
+		return (K) groupKey[groupOf[index]];
+	}
+
+	// Record that key occurs at index, which must not be mapped yet, O(1)
+	public void add(K key, int index){
+		if(index < 0) throw new IllegalArgumentException("Negative index: " + index);
+		if(index >= groupOf.length) growPositions(index + 1);
+		if(groupOf[index] != NONE) throw new IllegalStateException("Index already mapped: " + index);
+
+		int g = groups.get(key);
+		if(g == NONE){
+			g = newGroup(key);
+			groups.put(key, g);
+		}
+
+		// Push onto the front of the group's list
+		int h = head[g];
+		prev[index] = NONE;
+		next[index] = h;
+		if(h != NONE) prev[h] = index;
+		head[g] = index;
+		groupOf[index] = g;
+		count[g]++;
+	}
+
+	// Forget the key at index, dropping the key once it has no positions
+	// left. Return false if index wasn't mapped, O(1)
+	public boolean remove(int index){
+		if(index < 0 || index >= groupOf.length || groupOf[index] == NONE) return false;
+
+		int g = groupOf[index];
+		int p = prev[index], n = next[index];
+		if(p == NONE) head[g] = n;
+		else next[p] = n;
+		if(n != NONE) prev[n] = p;
+		groupOf[index] = NONE;
+
+		if(--count[g] == 0){
+			groups.remove(groupKey[g]);
+			freeGroup(g);
+		}
+		return true;
+	}
+
+	// Exchange the keys at two mapped positions, for when an array swaps
+	// two of its elements, O(1). Nothing changes if both hold the same key.
+	public void swap(int i, int j){
+		int gi = groupOf[i], gj = groupOf[j];
+		if(gi == NONE || gj == NONE) throw new IllegalStateException("Index not mapped: " + (gi == NONE ? i : j));
+		if(gi == gj) return;
+
+		// i and j sit in different lists, so they are never neighbours and
+		// each can take over the other's links
+		int pi = prev[i], ni = next[i];
+		int pj = prev[j], nj = next[j];
+		relink(j, gi, pi, ni);
+		relink(i, gj, pj, nj);
+	}
+
+	// Remove every mapping, O(capacity)
+	public void clear(){
+		groups.clear();
+		Arrays.fill(groupOf, NONE);
+		Arrays.fill(groupKey, 0, groupsUsed, null);
+		freeGroup = NONE;
+		groupsUsed = 0;
+	}
+
+	// Put position 'index' into group g where the old node with links p/n was
+	private void relink(int index, int g, int p, int n){
+		prev[index] = p;
+		next[index] = n;
+		groupOf[index] = g;
+		if(p == NONE) head[g] = index;
+		else next[p] = index;
+		if(n != NONE) prev[n] = index;
+	}
+
+	private int newGroup(Object key){
+		int g;
+		if(freeGroup != NONE){
+			g = freeGroup;
+			freeGroup = head[g];
+		} else {
+			if(groupsUsed == head.length) growGroups();
+			g = groupsUsed++;
+		}
+		head[g] = NONE;
+		count[g] = 0;
+		groupKey[g] = key;
+		return g;
+	}
+
+	private void freeGroup(int g){
+		groupKey[g] = null;
+		head[g] = freeGroup;
+		freeGroup = g;
+	}
+
+	private void growGroups(){
+		int capacity = head.length * 2;
+		head = Arrays.copyOf(head, capacity);
+		count = Arrays.copyOf(count, capacity);
+		groupKey = Arrays.copyOf(groupKey, capacity);
+	}
+
+	private void growPositions(int minCapacity){
+		int old = groupOf.length;
+		int capacity = (int) Math.min(Math.max(2L * old, minCapacity), Integer.MAX_VALUE - 8);
+		prev = Arrays.copyOf(prev, capacity);
+		next = Arrays.copyOf(next, capacity);
+		groupOf = Arrays.copyOf(groupOf, capacity);
+		Arrays.fill(groupOf, old, capacity, NONE);
+	}
+}
@@ -0,0 +1,198 @@
+package com.rain.datastructure.hashtable;
+
+// A hash map from object keys to primitive int values using open addressing
+// with linear probing. Keys and values sit in two parallel arrays, so there
+// is no Entry object per mapping and no Integer boxing, and a lookup probes
+// neighbouring slots of one array instead of chasing a bucket chain.
+//
+// Removal shifts the following entries of the probe run back into the hole
+// (backward shift deletion), so there are no tombstones and lookups never
+// slow down after many removals. Null keys are not allowed.
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+public class ObjectIntHashMap<K>{
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private Object[] keys;
+	private int[] values;
+	private int mask;
+	private int size = 0;
+	private int resizeAt;
+
+	// Returned by get/put/remove when there is no mapping
+	private final int noEntryValue;
+
+	public ObjectIntHashMap(){
+		this(16);
+	}
+
+	public ObjectIntHashMap(int expectedSize){
+		this(expectedSize, -1);
+	}
+
+	// expectedSize mappings fit without growing, noEntryValue is what
+	// lookups of missing keys return
+	public ObjectIntHashMap(int expectedSize, int noEntryValue){
+		if(expectedSize < 0) throw new IllegalArgumentException("Illegal size: " + expectedSize);
+		this.noEntryValue = noEntryValue;
+		allocate(capacityFor(expectedSize));
+	}
+
+	// Return the value returned for missing keys
+	public int noEntryValue(){
+		return noEntryValue;
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	// Remove every mapping, keeping the table, O(capacity)
+	public void clear(){
+		Arrays.fill(keys, null);
+		size = 0;
+	}
+
+	public boolean containsKey(Object key){
+		return slotOf(key) >= 0;
+	}
+
+	// Return the value for key, or noEntryValue if there is none, O(1)
+	public int get(Object key){
+		int slot = slotOf(key);
+		return slot >= 0 ? values[slot] : noEntryValue;
+	}
+
+	// Return the value for key, or defaultValue if there is none, O(1)
+	public int getOrDefault(Object key, int defaultValue){
+		int slot = slotOf(key);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	// Map key to value and return the old value or noEntryValue, O(1)
+	public int put(K key, int value){
+		int slot = slotOf(key);
+		if(slot >= 0){
+			int old = values[slot];
+			values[slot] = value;
+			return old;
+		}
+		insert(~slot, key, value);
+		return noEntryValue;
+	}
+
+	// Add delta to the value of key, a missing key counting as 0, and
+	// return the new value, O(1)
+	public int addTo(K key, int delta){
+		int slot = slotOf(key);
+		if(slot >= 0) return values[slot] += delta;
+		insert(~slot, key, delta);
+		return delta;
+	}
+
+	// Remove key and return its value or noEntryValue, O(1)
+	public int remove(Object key){
+		int slot = slotOf(key);
+		if(slot < 0) return noEntryValue;
+		int old = values[slot];
+		removeSlot(slot);
+		return old;
+	}
+
+	// Call action on every mapping, in no particular order
+	@SuppressWarnings("unchecked")
+	public void forEach(ObjIntConsumer<? super K> action){
+		for(int i = 0; i < keys.length; i++){
+			if(keys[i] != null) action.accept((K) keys[i], values[i]);
+		}
+	}
+
+	// Slot holding key, or ~slot of the empty slot where it would go
+	private int slotOf(Object key){
+		if(key == null) throw new IllegalArgumentException("Null key");
+		int i = hash(key) & mask;
+		Object k;
+		while((k = keys[i]) != null){
+			if(k == key || k.equals(key)) return i;
+			i = (i + 1) & mask;
+		}
+		return ~i;
+	}
+
+	private void insert(int slot, K key, int value){
+		keys[slot] = key;
+		values[slot] = value;
+		if(++size > resizeAt) rehash(keys.length << 1);
+	}
+
+	// Empty a slot, then walk the rest of its probe run and move back every
+	// entry whose home slot is at or before the hole
+	private void removeSlot(int hole){
+		int j = hole;
+		while(true){
+			j = (j + 1) & mask;
+			Object k = keys[j];
+			if(k == null) break;
+			int home = hash(k) & mask;
+			if(((j - home) & mask) >= ((j - hole) & mask)){
+				keys[hole] = k;
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		keys[hole] = null;
+		size--;
+	}
+
+	private void rehash(int capacity){
+		if(keys.length == MAX_CAPACITY) throw new IllegalStateException("Map too large");
+		Object[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for(int i = 0; i < oldKeys.length; i++){
+			Object k = oldKeys[i];
+			if(k == null) continue;
+			int j = hash(k) & mask;
+			while(keys[j] != null) j = (j + 1) & mask;
+			keys[j] = k;
+			values[j] = oldValues[i];
+		}
+	}
+
+	private void allocate(int capacity){
+		keys = new Object[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) Math.min(capacity * 3L / 4, MAX_CAPACITY - 1);
+	}
+
+	// Smallest power of two table that keeps n mappings under 3/4 full
+	static int capacityFor(int n){
+		long needed = Math.max(4, (n * 4L + 2) / 3 + 1);
+		if(needed >= MAX_CAPACITY) return MAX_CAPACITY;
+		return Integer.highestOneBit((int) needed - 1) << 1;
+	}
+
+	// Spread the hash code so keys with close hash codes, like Integers,
+	// don't land in one long probe run
+	private static int hash(Object key){
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder("{");
+		forEach((k, v) -> {
+			if(sb.length() > 1) sb.append(", ");
+			sb.append(k).append('=').append(v);
+		});
+		return sb.append('}').toString();
+	}
+}
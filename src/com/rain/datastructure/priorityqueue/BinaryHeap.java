@@ -1,10 +1,14 @@
+package com.rain.datastructure.priorityqueue;
+
 // A min priority queue implementation using a binary tree
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
-public class BinaryHeap<T extends Comparable<T>>{
+public class BinaryHeap<T extends Comparable<T>> implements MinPriorityQueue<T>{
 	// A dynamic list to track the elements inside heap
 	private List<T> heap = null;
 
@@ -27,19 +31,15 @@ public class BinaryHeap<T extends Comparable<T>>{
 		for(int i = 0; i < heapSize; i++) heap.add(elems[i]);
 
 		// Heapify process,O(n)
-		for(int i = Math.max(0, (heapSize / 2) - 1); i >= 0; i--) sink(i);
+		heapify();
 	}	
 
 	// Priority queue construction,O(n)
 	public BinaryHeap(Collection<T> elems){
-		int heapSize = size();
-		heap = new ArrayList<>();
+		heap = new ArrayList<>(elems);
 
-		// Add all elements of the given collection to the heap
-		heap.addAll(elems);
-		
 		// Heapify process, O(n)
-		for(int i = Math.max(0, (heapSize / 2) - 1); i >= 0; i--) sink(i);
+		heapify();
 	}
 	
 	// Return ture/false depending on if the priority queue is empty
@@ -90,6 +90,103 @@ public class BinaryHeap<T extends Comparable<T>>{
 		swim(indexOfLastElem);
 	}
 
+	// Adds every element of the collection, O(k*log(n)) or O(n+k).
+	// Small batches are swum in one at a time. Once the batch is at least
+	// as large as the heap, rebuilding the whole heap in O(n+k) is never
+	// worse than k swims, which cost up to O(k*log(n+k)).
+	public void addAll(Collection<? extends T> elems){
+		for(T elem : elems){
+			if(elem == null) throw new IllegalArgumentException();
+		}
+
+		if(elems.size() >= size()){
+			heap.addAll(elems);
+			heapify();
+		} else {
+			for(T elem : elems) add(elem);
+		}
+	}
+
+	// Adds every element of the array, see addAll(Collection)
+	public void addAll(T[] elems){
+		addAll(Arrays.asList(elems));
+	}
+
+	// Move every element of other into this heap and leave other empty,
+	// O(m*log(n)) or O(n+m). Same batch rule as addAll: a small heap is
+	// swum in element by element, a large one triggers a single heapify.
+	// For frequent O(1) melds use PairingHeap instead.
+	public void meld(BinaryHeap<T> other){
+		if(other == this || other.isEmpty()) return;
+
+		if(other.size() > size()){
+			// Keep the larger backing list and pour the smaller one into it
+			List<T> tmp = heap;
+			heap = other.heap;
+			other.heap = tmp;
+		}
+		addAll(other.heap);
+		other.clear();
+	}
+
+	// Combine the heaps of several workers into one new heap in O(N) for
+	// N elements in total: the lists are concatenated and heapified once
+	// instead of polling and re-adding each element. The inputs are left empty.
+	public static <T extends Comparable<T>> BinaryHeap<T> meldAll(Collection<BinaryHeap<T>> heaps){
+		int total = 0;
+		for(BinaryHeap<T> h : heaps) total += h.size();
+
+		BinaryHeap<T> result = new BinaryHeap<>(Math.max(1, total));
+		for(BinaryHeap<T> h : heaps){
+			result.heap.addAll(h.heap);
+			h.clear();
+		}
+		result.heapify();
+		return result;
+	}
+
+	// Remove up to k elements from the top of the heap into dst in
+	// ascending order. Return the number of elements removed, O(k*log(n))
+	public int pollN(int k, T[] dst){
+		if(k < 0) throw new IllegalArgumentException("Illegal k: " + k);
+		int n = Math.min(Math.min(k, size()), dst.length);
+		for(int i = 0; i < n; i++) dst[i] = poll();
+		return n;
+	}
+
+	// Return the k largest elements in descending order, reading elems
+	// once. Only a min heap of the best k seen so far is kept, so memory
+	// stays O(k) however long the input is, and each element that doesn't
+	// beat the current k-th best costs a single compare, O(n*log(k))
+	public static <T extends Comparable<T>> List<T> topK(Iterable<T> elems, int k){
+		if(k < 0) throw new IllegalArgumentException("Illegal k: " + k);
+		if(k == 0) return new ArrayList<>();
+		// Grow with the input rather than reserving k slots up front, k may
+		// be far more than the input holds (e.g. Integer.MAX_VALUE for all)
+		BinaryHeap<T> best = new BinaryHeap<>();
+
+		for(T elem : elems){
+			if(elem == null) throw new IllegalArgumentException();
+			if(best.size() < k){
+				best.add(elem);
+			} else if(elem.compareTo(best.heap.get(0)) > 0){
+				// Evict the smallest of the best k in place
+				best.heap.set(0, elem);
+				best.sink(0);
+			}
+		}
+
+		List<T> result = new ArrayList<>(best.size());
+		while(!best.isEmpty()) result.add(best.poll());
+		Collections.reverse(result);
+		return result;
+	}
+
+	// Restore the heap invariant over the whole list, O(n)
+	private void heapify(){
+		for(int i = Math.max(0, (size() / 2) - 1); i >= 0; i--) sink(i);
+	}
+
 	// Tests if the value of node i <= node j
 	// This method assume i & j are valid indices,O(1)
 	private boolean less(int i, int j){
@@ -131,7 +228,7 @@ public class BinaryHeap<T extends Comparable<T>>{
 
 			// Stop if we're outside the bounds of the tree 
 			// or stop early if we cannot sink k anymore
-			if(left > heapSize || less(k, smallest))
+			if(left >= heapSize || less(k, smallest))
 				break;
 
 			// Move down the tree following the smallest node
@@ -1,11 +1,9 @@
+package com.rain.datastructure.priorityqueue;
 
+import com.rain.datastructure.hashtable.MultiIndexMap;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
 public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 	// A dynamic list to track the elements inside the heap
@@ -14,8 +12,10 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 	// This map keeps track of the possible indices a particular
 	// node value is found in the heap. Having this map mapping lets
 	// us have O(log(n)) removals and O(1) element containment check
-	// at the cost of some additional space and minor overhead
-	private Map<T, TreeSet<Integer>> map = new HashMap<>();
+	// at the cost of some additional space and minor overhead. It is
+	// an open addressing map with the indices kept in int arrays, so
+	// a swap updates a few ints instead of two boxed TreeSets
+	private MultiIndexMap<T> map;
 
 	// Construct and initially empty priority queue
 	public BinaryHeapQuickRemovals(){
@@ -24,13 +24,14 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 
 	// Construct a priority queue with an inital capacity
 	public BinaryHeapQuickRemovals(int sz){
-		heap = new ArrayList(sz);
+		heap = new ArrayList<>(sz);
+		map = new MultiIndexMap<>(sz);
 	}
 
 	// Construct a priority queue using heapify in O(n) time.
 	public BinaryHeapQuickRemovals(T[] elems){
+		this(elems.length);
 		int heapSize = elems.length;
-		heap = new ArrayList(heapSize);
 
 		// Place all elements in heap
 		for(int i = 0; i < heapSize; i++){
@@ -137,7 +138,7 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 					
 			// Stop if we're outside the bound of the tree
 			// or stop early if we cannot sink k anymore
-			if(left >= heapSize && less(k, smallest)) break;
+			if(left >= heapSize || less(k, smallest)) break;
 
 			// Move down the tree following	the smallest node
 			swap(smallest, k);
@@ -153,7 +154,7 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 		heap.set(i, j_elem);
 		heap.set(j, i_elem);
 
-		mapSwap(i_elem, j_elem, i, j);
+		mapSwap(i, j);
 	} 
 
     // Remove a particular element in the heap, O(log(n)) 
@@ -161,9 +162,9 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
         if(elem == null) return false;
 
         // Logrithmic removal with map, O(log(n))
-        Integer index = mapGet(elem);
-        if(index != null) removeAt(index);
-        return index != null;
+        int index = map.anyIndex(elem);
+        if(index != -1) removeAt(index);
+        return index != -1;
     }
 
     // Removes a node at particular index, O(log(n))
@@ -176,7 +177,7 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
 
         // Obliterate the value
         heap.remove(indexOfLastElem);
-        mapRemove(remove_data, indexOfLastElem);
+        map.remove(indexOfLastElem);
 
         // Remove last element
         if(i == indexOfLastElem) return remove_data;
@@ -199,7 +200,7 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
     public boolean isMinHeap(int k){
         // If we are outside the bounds of the heap return true
         int heapSize = size();
-        if(k > heapSize) return true;
+        if(k >= heapSize) return true;
 
         int left = 2 * k + 1;
         int right = 2 * k + 2;
@@ -207,53 +208,21 @@ public class BinaryHeapQuickRemovals <T extends Comparable<T>> {
         // Make sure that current node k is less than 
         // both of its children left, and right if they exist
         // return false otherwise to indicate an invalid heap
-        if(k < heapSize && !less(k, left)) return false;
-        if(k < heapSize && !less(k, right)) return false;
+        if(left < heapSize && !less(k, left)) return false;
+        if(right < heapSize && !less(k, right)) return false;
 
         // Recurse on both children to make sure they're also valid heaps
         return isMinHeap(left) && isMinHeap(right);
     }
 
-	// Add an node value and its index to the map
+	// Add an node value and its index to the map, O(1)
 	private void mapAdd(T value, int index){
-		TreeSet<Integer> set = map.get(value);
-
-		// New value being insered in map
-		if(set == null){
-			set = new TreeSet<>();
-			set.add(index);
-			map.put(value, set);
-			
-			// Value already exists in map
-		} else set.add(index);
+		map.add(value, index);
 	}
 
-    // Removes the index at a given value, O(log(n))
-    private void mapRemove(T value, int index){
-        TreeSet<Integer> set = map.get(value);
-        set.remove(index);  // TreeSets take O(log(n)) removal time
-        if(set.size() == 0) map.remove(value);
-    }
-
-    // Extract an index position for the given value
-    // NOTE: If a value exists multiple times in the heap the highest
-    // index is returned (this has arbitrarily been chosen)
-    private Integer mapGet(T value){
-        TreeSet<Integer> set = map.get(value);
-        if(set != null) return set.last();
-        return null;
-    }
-
-	// Exchange the index of two nodes internally within the map
-	private void mapSwap(T val1, T val2, int val1Index, int val2Index) {
-		Set<Integer> set1 = map.get(val1);
-		Set<Integer> set2 = map.get(val2);
-
-		set1.remove(val1Index);
-		set2.remove(val2Index);
-	
-		set1.add(val2Index);
-		set2.add(val1Index);
+	// Exchange the index of two nodes internally within the map, O(1)
+	private void mapSwap(int i, int j){
+		map.swap(i, j);
 	}
 
     @Override
@@ -0,0 +1,187 @@
+package com.rain.datastructure.priorityqueue;
+
+// A min priority queue implementation using a d-ary heap
+//
+// Node k has its d children at d*k+1 .. d*k+d and its parent at (k-1)/d.
+// A wider node makes the tree log_d(n) deep instead of log_2(n), so add()
+// does fewer compares, and poll() scans d contiguous children per level,
+// which for d = 4 or 8 is typically one or two cache lines. The elements
+// live in a plain array rather than a List so those scans are direct loads.
+
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class DaryHeap<T extends Comparable<T>> implements MinPriorityQueue<T>{
+	// The number of children of every node
+	private final int d;
+
+	// The heap elements, only the first 'sz' slots are in use
+	private Object[] heap;
+	private int sz = 0;
+
+	// Construct and initially empty priority queue with the given arity
+	public DaryHeap(int d){
+		this(d, 16);
+	}
+
+	// Construct a priority queue with the given arity and an inital capacity
+	public DaryHeap(int d, int capacity){
+		if(d < 2) throw new IllegalArgumentException("Arity must be at least 2: " + d);
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		this.d = d;
+		heap = new Object[Math.max(1, capacity)];
+	}
+
+	// Construct a priority queue using heapify in O(n) time
+	public DaryHeap(int d, T[] elems){
+		this(d, elems.length);
+		for(T elem : elems){
+			if(elem == null) throw new IllegalArgumentException();
+		}
+		System.arraycopy(elems, 0, heap, 0, elems.length);
+		sz = elems.length;
+
+		// Heapify process, sink every node that has children, O(n)
+		for(int i = (sz - 2) / d; i >= 0; i--) sink(i);
+	}
+
+	// Return the arity of this heap
+	public int arity(){
+		return d;
+	}
+
+	// Return ture/false depending on if the priority queue is empty
+	public boolean isEmpty(){
+		return sz == 0;
+	}
+
+	// Return the size of the heap
+	public int size(){
+		return sz;
+	}
+
+	// Clears everything inside the heap, O(n)
+	public void clear(){
+		Arrays.fill(heap, 0, sz, null);
+		sz = 0;
+	}
+
+	// Return the value of the element with the lowest
+	// priority in this priority queue. If the priority
+	// queue is empty null is returned.
+	public T peek(){
+		if(isEmpty()) return null;
+		return (T) heap[0];
+	}
+
+	// Remove the root of the heap, O(d*log_d(n))
+	public T poll(){
+		return removeAt(0);
+	}
+
+	// Test if an element is in the heap, O(n)
+	public boolean contains(T elem){
+		for(int i = 0; i < sz; i++){
+			if(heap[i].equals(elem)) return true;
+		}
+		return false;
+	}
+
+	// Adds an element to the priority queue, the
+	// element must not be null, O(log_d(n))
+	public void add(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+		if(sz == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+		heap[sz] = elem;
+		swim(sz++);
+	}
+
+	// Removes a particular element in the heap, O(n)
+	public boolean remove(T elem){
+		if(elem == null) return false;
+		for(int i = 0; i < sz; i++){
+			if(heap[i].equals(elem)){
+				removeAt(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Move the element at k up until its parent is not larger. The element
+	// is held aside and parents are shifted down into the hole, which costs
+	// one write per level instead of a full swap.
+	private void swim(int k){
+		T elem = (T) heap[k];
+		while(k > 0){
+			int parent = (k - 1) / d;
+			T p = (T) heap[parent];
+			if(p.compareTo(elem) <= 0) break;
+			heap[k] = p;
+			k = parent;
+		}
+		heap[k] = elem;
+	}
+
+	// Move the element at k down until no child is smaller, shifting the
+	// smallest child up into the hole on each level
+	private void sink(int k){
+		T elem = (T) heap[k];
+		while(true){
+			int first = d * k + 1;
+			if(first >= sz) break;
+
+			// Find the smallest of the (up to) d contiguous children
+			int last = Math.min(first + d, sz);
+			int smallest = first;
+			T min = (T) heap[first];
+			for(int c = first + 1; c < last; c++){
+				T child = (T) heap[c];
+				if(child.compareTo(min) < 0){
+					min = child;
+					smallest = c;
+				}
+			}
+
+			if(elem.compareTo(min) <= 0) break;
+			heap[k] = min;
+			k = smallest;
+		}
+		heap[k] = elem;
+	}
+
+	// Removes a node at particular index, O(d*log_d(n))
+	private T removeAt(int i){
+		if(isEmpty()) return null;
+
+		T removed = (T) heap[i];
+		T last = (T) heap[--sz];
+		heap[sz] = null;	// Obliterate the value
+		if(i == sz) return removed;
+
+		// Put the last element in the hole, then sink or swim it
+		heap[i] = last;
+		sink(i);
+		if(heap[i] == last) swim(i);
+		return removed;
+	}
+
+	// Recursively checks if this heap is a min heap
+	// This method is just for testing purpose to make
+	// sure the heap invariant is still being maintained
+	// Called this method with k=0 to start at the root
+	public boolean isMinHeap(int k){
+		if(k >= sz) return true;
+
+		for(int c = d * k + 1; c <= d * k + d && c < sz; c++){
+			if(((T) heap[k]).compareTo((T) heap[c]) > 0) return false;
+			if(!isMinHeap(c)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString(){
+		return Arrays.toString(Arrays.copyOf(heap, sz));
+	}
+}
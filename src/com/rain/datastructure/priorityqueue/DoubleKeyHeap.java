@@ -0,0 +1,154 @@
+package com.rain.datastructure.priorityqueue;
+
+// A binary heap of int payloads ordered by primitive double keys, e.g. item
+// ids ordered by score. This is LongKeyHeap with double keys: parallel
+// arrays, no Comparable, no boxing, and poll() never allocates.
+//
+// A max heap stores every key negated, which reverses the order of doubles
+// exactly, so min and max heaps share the same code with no extra branch in
+// the compare. NaN keys are rejected since they don't order.
+
+import java.util.Arrays;
+
+public class DoubleKeyHeap{
+	private double[] keys;
+	private int[] payloads;
+	private int sz = 0;
+	private final boolean max;
+
+	// Construct an empty min heap
+	public static DoubleKeyHeap minHeap(int capacity){
+		return new DoubleKeyHeap(capacity, false);
+	}
+
+	// Construct an empty max heap
+	public static DoubleKeyHeap maxHeap(int capacity){
+		return new DoubleKeyHeap(capacity, true);
+	}
+
+	// Construct an empty heap with an initial capacity
+	public DoubleKeyHeap(int capacity, boolean max){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		this.max = max;
+		keys = new double[Math.max(1, capacity)];
+		payloads = new int[keys.length];
+	}
+
+	// Construct a heap holding payloads[i] with priority keys[i] using heapify, O(n)
+	public DoubleKeyHeap(double[] keys, int[] payloads, boolean max){
+		if(keys.length != payloads.length) throw new IllegalArgumentException("keys and payloads must have the same length");
+		this.max = max;
+		this.keys = new double[Math.max(1, keys.length)];
+		this.payloads = new int[this.keys.length];
+		sz = keys.length;
+		for(int i = 0; i < sz; i++) this.keys[i] = encode(keys[i]);
+		System.arraycopy(payloads, 0, this.payloads, 0, sz);
+
+		// Heapify process, O(n)
+		for(int i = (sz / 2) - 1; i >= 0; i--) sink(i);
+	}
+
+	// Return true/false depending on if the heap is empty
+	public boolean isEmpty(){
+		return sz == 0;
+	}
+
+	// Return the size of the heap
+	public int size(){
+		return sz;
+	}
+
+	// Clears everything inside the heap, O(1)
+	public void clear(){
+		sz = 0;
+	}
+
+	// Adds a payload with the given priority, amortized O(log(n))
+	public void add(double key, int payload){
+		if(sz == keys.length){
+			keys = Arrays.copyOf(keys, sz * 2);
+			payloads = Arrays.copyOf(payloads, sz * 2);
+		}
+		keys[sz] = encode(key);
+		payloads[sz] = payload;
+		swim(sz++);
+	}
+
+	// Return the key at the top of the heap, O(1)
+	public double peekKey(){
+		if(isEmpty()) throw new RuntimeException("Heap is empty");
+		return encode(keys[0]);
+	}
+
+	// Return the payload at the top of the heap, O(1)
+	public int peekPayload(){
+		if(isEmpty()) throw new RuntimeException("Heap is empty");
+		return payloads[0];
+	}
+
+	// Remove the top of the heap and return its payload, O(log(n)).
+	// Call peekKey() first if the key is needed too.
+	public int poll(){
+		if(isEmpty()) throw new RuntimeException("Heap is empty");
+
+		int top = payloads[0];
+		if(--sz > 0){
+			keys[0] = keys[sz];
+			payloads[0] = payloads[sz];
+			sink(0);
+		}
+		return top;
+	}
+
+	// Negation is its own inverse, so this both encodes and decodes
+	private double encode(double key){
+		if(key != key) throw new IllegalArgumentException("NaN key");
+		return max ? -key : key;
+	}
+
+	// Move the node at k up, shifting larger parents down into the hole
+	private void swim(int k){
+		double key = keys[k];
+		int payload = payloads[k];
+		while(k > 0){
+			int parent = (k - 1) >>> 1;
+			if(keys[parent] <= key) break;
+			keys[k] = keys[parent];
+			payloads[k] = payloads[parent];
+			k = parent;
+		}
+		keys[k] = key;
+		payloads[k] = payload;
+	}
+
+	// Move the node at k down, shifting the smaller child up into the hole
+	private void sink(int k){
+		double key = keys[k];
+		int payload = payloads[k];
+		int half = sz >>> 1;	// nodes from here on are leaves
+		while(k < half){
+			int child = 2 * k + 1;
+			int right = child + 1;
+			if(right < sz && keys[right] < keys[child]) child = right;
+			if(key <= keys[child]) break;
+			keys[k] = keys[child];
+			payloads[k] = payloads[child];
+			k = child;
+		}
+		keys[k] = key;
+		payloads[k] = payload;
+	}
+
+	// Recursively checks if the heap invariant holds
+	// This method is just for testing purposes
+	// Called this method with k=0 to start at the root
+	public boolean isHeap(int k){
+		if(k >= sz) return true;
+
+		int left = 2 * k + 1;
+		int right = 2 * k + 2;
+		if(left < sz && keys[left] < keys[k]) return false;
+		if(right < sz && keys[right] < keys[k]) return false;
+		return isHeap(left) && isHeap(right);
+	}
+}
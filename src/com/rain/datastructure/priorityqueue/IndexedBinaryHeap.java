@@ -0,0 +1,250 @@
+package com.rain.datastructure.priorityqueue;
+
+// A min indexed priority queue. Every value is attached to an int key index
+// in [0, maxSize) chosen by the caller (e.g. a vertex id), which lets us find
+// a value's position in the heap in O(1) and change its priority in
+// O(log(n)). This is what Dijkstra and A* need for decreaseKey.
+//
+// Unlike BinaryHeapQuickRemovals there's no map from values to positions,
+// just two int arrays, so the heap itself allocates nothing after
+// construction. The values are still objects though: a Double priority is
+// boxed by the caller. For primitive double priorities without an index see
+// DoubleKeyHeap.
+public class IndexedBinaryHeap<T extends Comparable<T>>{
+	// The number of elements in the heap
+	private int sz;
+
+	// The maximum number of elements in the heap
+	private final int N;
+
+	// The position map (pm) maps key indices (ki) to where the position of
+	// that key is represented in the heap, or -1 if the key isn't present
+	private final int[] pm;
+
+	// The inverse map (im) stores the key index of the node at a heap
+	// position. pm and im are inverses of each other: pm[im[i]] = i
+	private final int[] im;
+
+	// The values associated with the keys, indexed by key index
+	private final Object[] values;
+
+	// Initializes a heap for key indices in [0, maxSize)
+	public IndexedBinaryHeap(int maxSize){
+		if(maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+
+		N = maxSize;
+		pm = new int[N];
+		im = new int[N];
+		values = new Object[N];
+		java.util.Arrays.fill(pm, -1);
+	}
+
+	// Return the size of the heap
+	public int size(){
+		return sz;
+	}
+
+	// Return true/false depending on if the priority queue is empty
+	public boolean isEmpty(){
+		return sz == 0;
+	}
+
+	// Test if key index ki is in the heap, O(1)
+	public boolean contains(int ki){
+		keyInBoundsOrThrow(ki);
+		return pm[ki] != -1;
+	}
+
+	// Return the key index with the smallest value, O(1)
+	public int peekMinKeyIndex(){
+		isNotEmptyOrThrow();
+		return im[0];
+	}
+
+	// Remove the smallest value and return its key index, O(log(n))
+	public int pollMinKeyIndex(){
+		int minki = peekMinKeyIndex();
+		delete(minki);
+		return minki;
+	}
+
+	// Return the smallest value, O(1)
+	public T peekMinValue(){
+		isNotEmptyOrThrow();
+		return value(im[0]);
+	}
+
+	// Remove and return the smallest value, O(log(n))
+	public T pollMinValue(){
+		T minValue = peekMinValue();
+		delete(peekMinKeyIndex());
+		return minValue;
+	}
+
+	// Insert a value for key index ki, which must not be in the heap, O(log(n))
+	public void insert(int ki, T value){
+		if(contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+		valueNotNullOrThrow(value);
+
+		pm[ki] = sz;
+		im[sz] = ki;
+		values[ki] = value;
+		swim(sz++);
+	}
+
+	// Return the value attached to key index ki, O(1)
+	public T valueOf(int ki){
+		keyExistsOrThrow(ki);
+		return value(ki);
+	}
+
+	// Remove key index ki from the heap and return its value, O(log(n))
+	public T delete(int ki){
+		keyExistsOrThrow(ki);
+
+		// Move the last node into ki's position and restore the heap
+		// invariant from there
+		final int i = pm[ki];
+		swap(i, --sz);
+		sink(i);
+		swim(i);
+
+		T value = value(ki);
+		values[ki] = null;
+		pm[ki] = -1;
+		im[sz] = -1;
+		return value;
+	}
+
+	// Replace the value of key index ki and return the old one, O(log(n))
+	public T update(int ki, T value){
+		keyExistsAndValueNotNullOrThrow(ki, value);
+
+		final int i = pm[ki];
+		T oldValue = value(ki);
+		values[ki] = value;
+		sink(i);
+		swim(i);
+		return oldValue;
+	}
+
+	// Lower the value of key index ki. Does nothing if the new value isn't
+	// smaller than the current one, O(log(n))
+	public void decreaseKey(int ki, T value){
+		keyExistsAndValueNotNullOrThrow(ki, value);
+
+		if(value.compareTo(value(ki)) < 0){
+			values[ki] = value;
+			swim(pm[ki]);
+		}
+	}
+
+	// Raise the value of key index ki. Does nothing if the new value isn't
+	// larger than the current one, O(log(n))
+	public void increaseKey(int ki, T value){
+		keyExistsAndValueNotNullOrThrow(ki, value);
+
+		if(value(ki).compareTo(value) < 0){
+			values[ki] = value;
+			sink(pm[ki]);
+		}
+	}
+
+	// Perform bottom up node swim, O(log(n))
+	private void swim(int i){
+		// Keep swimming while we have not reached the
+		// root and while we're less than our parent.
+		for(int p = (i - 1) / 2; i > 0 && less(i, p); p = (i - 1) / 2){
+			swap(i, p);
+			i = p;
+		}
+	}
+
+	// Top down node sink, O(log(n))
+	private void sink(int i){
+		while(true){
+			int left = 2 * i + 1;	// left node
+			int right = 2 * i + 2;	// right node
+			int smallest = left;	// Assume left is the smallest node of the two children
+
+			// Stop if we're outside the bounds of the tree
+			if(left >= sz) break;
+
+			// If right is smaller set smallest to be right
+			if(right < sz && less(right, left)) smallest = right;
+
+			// Stop early if we cannot sink i anymore
+			if(!less(smallest, i)) break;
+
+			swap(smallest, i);
+			i = smallest;
+		}
+	}
+
+	// Swap two nodes and keep both maps in sync. Assumes i & j are valid, O(1)
+	private void swap(int i, int j){
+		pm[im[j]] = i;
+		pm[im[i]] = j;
+		int tmp = im[i];
+		im[i] = im[j];
+		im[j] = tmp;
+	}
+
+	// Tests if the value of node i < node j
+	private boolean less(int i, int j){
+		return value(im[i]).compareTo(value(im[j])) < 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T value(int ki){
+		return (T) values[ki];
+	}
+
+	// Recursively checks if this heap is a min heap
+	// This method is just for testing purposes to make
+	// sure the heap invariant is still being maintained
+	// Called this method with k=0 to start at the root
+	public boolean isMinHeap(int k){
+		if(k >= sz) return true;
+
+		int left = 2 * k + 1;
+		int right = 2 * k + 2;
+		if(left < sz && less(left, k)) return false;
+		if(right < sz && less(right, k)) return false;
+
+		return isMinHeap(left) && isMinHeap(right);
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder("[");
+		for(int i = 0; i < sz; i++){
+			if(i > 0) sb.append(", ");
+			sb.append(im[i]).append('=').append(values[im[i]]);
+		}
+		return sb.append("]").toString();
+	}
+
+	/* Helper functions to make the code more readable. */
+
+	private void isNotEmptyOrThrow(){
+		if(isEmpty()) throw new RuntimeException("Priority queue underflow");
+	}
+
+	private void keyExistsAndValueNotNullOrThrow(int ki, Object value){
+		keyExistsOrThrow(ki);
+		valueNotNullOrThrow(value);
+	}
+
+	private void keyExistsOrThrow(int ki){
+		if(!contains(ki)) throw new IllegalArgumentException("Index does not exist; received: " + ki);
+	}
+
+	private void valueNotNullOrThrow(Object value){
+		if(value == null) throw new IllegalArgumentException("value cannot be null");
+	}
+
+	private void keyInBoundsOrThrow(int ki){
+		if(ki < 0 || ki >= N) throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+	}
+}
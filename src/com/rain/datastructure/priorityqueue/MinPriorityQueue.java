@@ -0,0 +1,49 @@
+package com.rain.datastructure.priorityqueue;
+
+// The operations every min priority queue in this package shares, so a
+// caller can pick the implementation from configuration, e.g.
+//
+//   MinPriorityQueue<Event> q = MinPriorityQueue.create(config.get("pq"), Event::time);
+
+import java.util.function.ToIntFunction;
+
+public interface MinPriorityQueue<T>{
+	// The implementations create() can build
+	enum Kind { BINARY, DARY_4, DARY_8, PAIRING, RADIX }
+
+	public int size();
+
+	public boolean isEmpty();
+
+	public void clear();
+
+	// Adds an element, the element must not be null
+	public void add(T elem);
+
+	// Return the smallest element or null if the queue is empty
+	public T peek();
+
+	// Remove and return the smallest element or null if the queue is empty
+	public T poll();
+
+	// Build an empty queue of the given kind. monotoneKey is only used by
+	// RADIX, which orders by that int key and requires that no key added is
+	// smaller than the last one polled. The other kinds use compareTo.
+	public static <T extends Comparable<T>> MinPriorityQueue<T> create(Kind kind, ToIntFunction<? super T> monotoneKey){
+		switch(kind){
+			case BINARY:  return new BinaryHeap<>();
+			case DARY_4:  return new DaryHeap<>(4);
+			case DARY_8:  return new DaryHeap<>(8);
+			case PAIRING: return new PairingHeap<>();
+			case RADIX:
+				if(monotoneKey == null) throw new IllegalArgumentException("RADIX needs a key function");
+				return new RadixHeap<>(monotoneKey);
+			default: throw new IllegalArgumentException("Unknown kind: " + kind);
+		}
+	}
+
+	// Same as create(Kind, ...) with the kind given by name, e.g. "pairing"
+	public static <T extends Comparable<T>> MinPriorityQueue<T> create(String kind, ToIntFunction<? super T> monotoneKey){
+		return MinPriorityQueue.<T>create(Kind.valueOf(kind.trim().toUpperCase()), monotoneKey);
+	}
+}
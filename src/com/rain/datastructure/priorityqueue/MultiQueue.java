@@ -0,0 +1,176 @@
+package com.rain.datastructure.priorityqueue;
+
+// A concurrent min priority queue made of several BinaryHeap shards, each
+// guarded by its own lock (a MultiQueue, Rihani, Sanders & Dementiev).
+//
+// add() always goes into one random shard, so adding threads rarely meet.
+// What poll() returns depends on the mode:
+//
+//   STRICT   lock every shard, take the smallest top. Always returns the
+//            true minimum, but polls are serialized.
+//   RELAXED  look at the tops of two random shards and poll the smaller
+//            one. The result is close to the minimum (its rank is O(shards)
+//            on average) and polls scale with the number of threads.
+//
+// Both modes only return null from poll() when every shard is empty.
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class MultiQueue<T extends Comparable<T>>{
+	public enum Mode { STRICT, RELAXED }
+
+	private static final class Shard<T extends Comparable<T>>{
+		final ReentrantLock lock = new ReentrantLock();
+		final BinaryHeap<T> heap = new BinaryHeap<>();
+
+		// Copy of heap.peek() readable without the lock, refreshed under
+		// the lock after every change. null means the shard is empty.
+		volatile T top;
+
+		// Keeps the hot 'top' fields of neighbouring shards apart
+		long p01, p02, p03, p04, p05, p06, p07;
+	}
+
+	private final Shard<T>[] shards;
+	private final Mode mode;
+	private final LongAdder size = new LongAdder();
+
+	// Construct a queue with two shards per core
+	public MultiQueue(Mode mode){
+		this(2 * Runtime.getRuntime().availableProcessors(), mode);
+	}
+
+	@SuppressWarnings("unchecked")
+	public MultiQueue(int numShards, Mode mode){
+		if(numShards < 1) throw new IllegalArgumentException("Illegal number of shards: " + numShards);
+		if(mode == null) throw new IllegalArgumentException();
+		// Two-choice polling needs at least two shards to choose from
+		if(mode == Mode.RELAXED) numShards = Math.max(2, numShards);
+
+		this.mode = mode;
+		shards = (Shard<T>[]) new Shard<?>[numShards];
+		for(int i = 0; i < numShards; i++) shards[i] = new Shard<>();
+	}
+
+	public Mode mode(){
+		return mode;
+	}
+
+	// Return the number of elements. Exact when nothing is running
+	// concurrently. The counter is summed without a snapshot, so a sum
+	// racing with an add and a poll could dip below zero; it is clamped.
+	public int size(){
+		return (int) Math.max(0, size.sum());
+	}
+
+	// Return true/false depending on if the priority queue is empty, going by
+	// the shard tops rather than the counter
+	public boolean isEmpty(){
+		for(Shard<T> shard : shards){
+			if(shard.top != null) return false;
+		}
+		return true;
+	}
+
+	// Adds an element to a random shard, the element must not be null, O(log(n))
+	public void add(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+		while(true){
+			// Skip shards another thread is holding rather than queueing up
+			Shard<T> shard = shards[rnd.nextInt(shards.length)];
+			if(!shard.lock.tryLock()) continue;
+			try {
+				// Count the element before publishing it, a poll can take it
+				// as soon as 'top' or the lock lets it
+				shard.heap.add(elem);
+				size.increment();
+				shard.top = shard.heap.peek();
+			} finally {
+				shard.lock.unlock();
+			}
+			return;
+		}
+	}
+
+	// Remove and return the smallest element (STRICT) or an element close
+	// to the smallest (RELAXED). Returns null if the queue is empty.
+	public T poll(){
+		return mode == Mode.STRICT ? pollStrict() : pollRelaxed();
+	}
+
+	// Return the smallest of the shard tops. Other threads may change the
+	// queue right after, so this is only a snapshot.
+	public T peek(){
+		T best = null;
+		for(Shard<T> shard : shards){
+			T top = shard.top;
+			if(top != null && (best == null || top.compareTo(best) < 0)) best = top;
+		}
+		return best;
+	}
+
+	// Hold every lock (always in index order, so two strict polls can't
+	// deadlock) while picking the shard with the smallest top
+	private T pollStrict(){
+		for(Shard<T> shard : shards) shard.lock.lock();
+		try {
+			Shard<T> best = null;
+			for(Shard<T> shard : shards){
+				T top = shard.top;
+				if(top != null && (best == null || top.compareTo(best.top) < 0)) best = shard;
+			}
+			return best == null ? null : pollLocked(best);
+		} finally {
+			for(Shard<T> shard : shards) shard.lock.unlock();
+		}
+	}
+
+	private T pollRelaxed(){
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+		// Give the two-choice step a few tries, then fall back to a full
+		// scan which also tells us if the queue is really empty
+		for(int attempt = 0; attempt < shards.length; attempt++){
+			Shard<T> a = shards[rnd.nextInt(shards.length)];
+			Shard<T> b = shards[rnd.nextInt(shards.length)];
+			T topA = a.top, topB = b.top;
+
+			Shard<T> pick;
+			if(topA == null && topB == null) continue;
+			else if(topA == null) pick = b;
+			else if(topB == null) pick = a;
+			else pick = topA.compareTo(topB) <= 0 ? a : b;
+
+			if(!pick.lock.tryLock()) continue;
+			try {
+				// The shard may have been drained since we read its top
+				if(pick.top != null) return pollLocked(pick);
+			} finally {
+				pick.lock.unlock();
+			}
+		}
+
+		for(Shard<T> shard : shards){
+			if(shard.top == null) continue;
+			shard.lock.lock();
+			try {
+				if(shard.top != null) return pollLocked(shard);
+			} finally {
+				shard.lock.unlock();
+			}
+		}
+		return null;
+	}
+
+	// Poll a non-empty shard whose lock we hold
+	private T pollLocked(Shard<T> shard){
+		T elem = shard.heap.poll();
+		shard.top = shard.heap.peek();
+		size.decrement();
+		return elem;
+	}
+}
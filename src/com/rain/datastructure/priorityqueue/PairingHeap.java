@@ -0,0 +1,118 @@
+package com.rain.datastructure.priorityqueue;
+
+// A min pairing heap. Every node keeps its children as a singly linked
+// list, so add() and meld() are a single comparison and pointer swap, O(1).
+// poll() merges the root's children in two passes (left to right in pairs,
+// then right to left), which is O(log(n)) amortized.
+//
+// Both passes run as loops over the sibling links, there is no recursion.
+
+public class PairingHeap<T extends Comparable<T>> implements MinPriorityQueue<T>{
+	private Node<T> root = null;
+	private int size = 0;
+
+	private static class Node<T>{
+		T elem;
+		Node<T> child;	// leftmost child
+		Node<T> next;	// next sibling
+
+		Node(T elem){
+			this.elem = elem;
+		}
+	}
+
+	// Return the size of the heap
+	public int size(){
+		return size;
+	}
+
+	// Return ture/false depending on if the heap is empty
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	// Clears everything inside the heap, O(1)
+	public void clear(){
+		root = null;
+		size = 0;
+	}
+
+	// Adds an element to the heap, the element must not be null, O(1)
+	public void add(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+		root = link(root, new Node<>(elem));
+		size++;
+	}
+
+	// Return the smallest element or null if the heap is empty, O(1)
+	public T peek(){
+		return root == null ? null : root.elem;
+	}
+
+	// Remove the smallest element, O(log(n)) amortized
+	public T poll(){
+		if(root == null) return null;
+
+		T elem = root.elem;
+		root = mergePairs(root.child);
+		size--;
+		return elem;
+	}
+
+	// Move every element of other into this heap, O(1).
+	// other is left empty.
+	public void meld(PairingHeap<T> other){
+		if(other == this || other.root == null) return;
+		root = link(root, other.root);
+		size += other.size;
+		other.clear();
+	}
+
+	// Make the root with the larger element the leftmost child of the
+	// other one. Both arguments must be roots (no siblings).
+	private Node<T> link(Node<T> a, Node<T> b){
+		if(a == null) return b;
+		if(b == null) return a;
+		if(b.elem.compareTo(a.elem) < 0){
+			Node<T> tmp = a;
+			a = b;
+			b = tmp;
+		}
+		b.next = a.child;
+		a.child = b;
+		return a;
+	}
+
+	// Two pass pairing of a list of sibling trees into one tree
+	private Node<T> mergePairs(Node<T> first){
+		// First pass: link the siblings in pairs from left to right,
+		// pushing each pair onto a stack threaded through 'next'
+		Node<T> pairs = null;
+		while(first != null){
+			Node<T> a = first;
+			Node<T> b = a.next;
+			if(b == null){
+				a.next = pairs;
+				pairs = a;
+				break;
+			}
+			first = b.next;
+			a.next = b.next = null;
+
+			Node<T> pair = link(a, b);
+			pair.next = pairs;
+			pairs = pair;
+		}
+
+		// Second pass: the stack pops the pairs right to left,
+		// link each one into the accumulated result
+		Node<T> result = null;
+		while(pairs != null){
+			Node<T> next = pairs.next;
+			pairs.next = null;
+			result = link(result, pairs);
+			pairs = next;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,152 @@
+package com.rain.datastructure.priorityqueue;
+
+// A radix heap for monotone int keys, e.g. event timestamps in a simulation
+// that never goes back in time. Every key added must be >= the key of the
+// last element polled, otherwise add() throws.
+//
+// Element keys are compared with the last polled key, 'last'. Bucket 0 holds
+// the elements whose key equals last and bucket i (1..32) the elements whose
+// key first differs from last at bit i-1, counting from the least significant
+// bit. When bucket 0 runs dry the first non-empty bucket is emptied into the
+// lower ones around its minimum. An element only ever moves to a lower
+// bucket, so each one moves at most 32 times and poll() is O(1) amortized
+// with no comparisons between elements.
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+@SuppressWarnings("unchecked")
+public class RadixHeap<T> implements MinPriorityQueue<T>{
+	private static final int BUCKETS = 33;
+
+	private final ToIntFunction<? super T> keyOf;
+
+	// Per bucket growable arrays of elements and their (unsigned mapped) keys
+	private final Object[][] items = new Object[BUCKETS][];
+	private final int[][] keys = new int[BUCKETS][];
+	private final int[] counts = new int[BUCKETS];
+
+	// Key of the last polled element, mapped to unsigned order
+	private int last;
+	private int size = 0;
+
+	// keyOf extracts the priority of an element. It must return the same
+	// value for an element for as long as the element is in the heap.
+	public RadixHeap(ToIntFunction<? super T> keyOf){
+		if(keyOf == null) throw new IllegalArgumentException();
+		this.keyOf = keyOf;
+		for(int i = 0; i < BUCKETS; i++){
+			items[i] = new Object[4];
+			keys[i] = new int[4];
+		}
+		last = toUnsigned(Integer.MIN_VALUE);
+	}
+
+	// Return the size of the heap
+	public int size(){
+		return size;
+	}
+
+	// Return ture/false depending on if the heap is empty
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	// Clears everything inside the heap and forgets the last polled key, O(n)
+	public void clear(){
+		for(int i = 0; i < BUCKETS; i++){
+			Arrays.fill(items[i], 0, counts[i], null);
+			counts[i] = 0;
+		}
+		size = 0;
+		last = toUnsigned(Integer.MIN_VALUE);
+	}
+
+	// Adds an element, its key must not be smaller than the key of the
+	// last polled element, O(1)
+	public void add(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+
+		int key = toUnsigned(keyOf.applyAsInt(elem));
+		if(Integer.compareUnsigned(key, last) < 0){
+			throw new IllegalArgumentException("Key " + keyOf.applyAsInt(elem) + " is smaller than the last polled key " + (last ^ Integer.MIN_VALUE));
+		}
+		push(bucketOf(key), elem, key);
+		size++;
+	}
+
+	// Return the smallest element or null if the heap is empty, O(bucket size)
+	public T peek(){
+		if(isEmpty()) return null;
+		if(counts[0] > 0) return (T) items[0][0];
+
+		// Find the minimum in the first non-empty bucket without
+		// redistributing, so peek doesn't advance 'last'
+		int b = firstNonEmptyBucket();
+		int min = 0;
+		for(int i = 1; i < counts[b]; i++){
+			if(Integer.compareUnsigned(keys[b][i], keys[b][min]) < 0) min = i;
+		}
+		return (T) items[b][min];
+	}
+
+	// Remove the smallest element, O(1) amortized
+	public T poll(){
+		if(isEmpty()) return null;
+		if(counts[0] == 0) redistribute();
+
+		int i = --counts[0];
+		T elem = (T) items[0][i];
+		items[0][i] = null;
+		size--;
+		return elem;
+	}
+
+	// Empty the first non-empty bucket into the lower ones, relative to
+	// its minimum key which becomes the new 'last'
+	private void redistribute(){
+		int b = firstNonEmptyBucket();
+
+		int min = keys[b][0];
+		for(int i = 1; i < counts[b]; i++){
+			if(Integer.compareUnsigned(keys[b][i], min) < 0) min = keys[b][i];
+		}
+		last = min;
+
+		// Every element of bucket b lands in a bucket below b
+		int n = counts[b];
+		counts[b] = 0;
+		for(int i = 0; i < n; i++){
+			Object elem = items[b][i];
+			items[b][i] = null;
+			push(bucketOf(keys[b][i]), elem, keys[b][i]);
+		}
+	}
+
+	private int firstNonEmptyBucket(){
+		int b = 1;
+		while(counts[b] == 0) b++;
+		return b;
+	}
+
+	private void push(int b, Object elem, int key){
+		int n = counts[b];
+		if(n == items[b].length){
+			items[b] = Arrays.copyOf(items[b], n * 2);
+			keys[b] = Arrays.copyOf(keys[b], n * 2);
+		}
+		items[b][n] = elem;
+		keys[b][n] = key;
+		counts[b] = n + 1;
+	}
+
+	// 0 if key == last, otherwise 1 + the index of the highest bit where they differ
+	private int bucketOf(int key){
+		return 32 - Integer.numberOfLeadingZeros(key ^ last);
+	}
+
+	// Flip the sign bit so unsigned order on the result matches signed order on key
+	private static int toUnsigned(int key){
+		return key ^ Integer.MIN_VALUE;
+	}
+}
@@ -1,17 +1,34 @@
-package com.rain.datastructure
+package com.rain.datastructure.queue;
+
+// A growable circular buffer. The capacity is always a power of two so
+// wrapping an index around the end of the array is a mask, not a modulo.
+@SuppressWarnings("unchecked")
 public class ArrayQueue<T> implements Queue<T>{
+	private static final int MIN_CAPACITY = 2;
+
 	private T[] arr;
-	private len = 0;
-	private capacity = 0;
+	private int mask;		// arr.length - 1
+	private int head = 0;	// index of the front element
+	private int tail = 0;	// index the next offered element is written to
+	private int len = 0;
+
+	// If true the buffer halves once it drops to a quarter full, the gap
+	// between the grow and shrink thresholds stops it from thrashing
+	private final boolean shrink;
 
 	public ArrayQueue(){
 		this(16);
 	}
 
 	public ArrayQueue(int capacity){
-		if(capacity < 0) throw new IllegalArumentException("Illegal Capacity" + capacity);
-		this.capacity = capacity;
-		arr = (T[]) new Object[capacity];
+		this(capacity, false);
+	}
+
+	public ArrayQueue(int capacity, boolean shrink){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+		this.shrink = shrink;
+		arr = (T[]) new Object[roundUpToPowerOfTwo(capacity)];
+		mask = arr.length - 1;
 	}
 
 	@Override
@@ -20,35 +37,70 @@ public class ArrayQueue<T> implements Queue<T>{
 	}
 
 	@Override
-	public void isEmpty(){
+	public boolean isEmpty(){
 		return size() == 0;
 	}
 
+	// Return the number of slots in the backing array
+	public int capacity(){
+		return arr.length;
+	}
+
+	// Add an element to the back of the queue, amortized O(1)
 	@Override
 	public void offer(T elem){
-		if(len + 1 >= capacity){
-			if(capacity == 0){
-				capacity += 1;
-			}
-			capacity *= 2;
-		}
-
-		arr[size++] = elem;
+		if(len == arr.length) resize(arr.length << 1);
+		arr[tail] = elem;
+		tail = (tail + 1) & mask;
+		len++;
 	}
 
+	// Remove the element at the front of the queue, amortized O(1)
 	@Override
 	public T poll(){
-		if(isEmpty()) throw new RuntimeException("Queue is Empty"); 
+		if(isEmpty()) throw new RuntimeException("Queue is Empty");
 
-		T data = arr[0];
-		System.arraycopy(arr, 1, arr, 0, --len);
-	
+		T data = arr[head];
+		arr[head] = null;	// Let the GC reclaim the element
+		head = (head + 1) & mask;
+		len--;
+
+		if(shrink && arr.length > MIN_CAPACITY && len <= (arr.length >>> 2)) resize(arr.length >>> 1);
 		return data;
 	}
 
 	@Override
 	public T peek(){
 		if(isEmpty()) throw new RuntimeException("Queue is Empty");
-		return arr[0];
+		return arr[head];
+	}
+
+	// Empty the queue, O(n)
+	public void clear(){
+		for(int i = 0; i < len; i++) arr[(head + i) & mask] = null;
+		head = tail = len = 0;
+	}
+
+	// Move the elements into a new array of the given capacity so that
+	// the front of the queue ends up at index 0, O(n)
+	private void resize(int newCapacity){
+		T[] newArr = (T[]) new Object[newCapacity];
+
+		// The elements occupy at most two runs: head..end and 0..tail
+		int firstRun = Math.min(len, arr.length - head);
+		System.arraycopy(arr, head, newArr, 0, firstRun);
+		System.arraycopy(arr, 0, newArr, firstRun, len - firstRun);
+
+		arr = newArr;
+		mask = newCapacity - 1;
+		head = 0;
+		tail = len & mask;
+	}
+
+	// Smallest power of two >= n (and >= MIN_CAPACITY)
+	private static int roundUpToPowerOfTwo(int n){
+		if(n <= MIN_CAPACITY) return MIN_CAPACITY;
+		if(n > (1 << 30)) throw new IllegalArgumentException("Capacity too large: " + n);
+		return Integer.highestOneBit(n - 1) << 1;
 	}
 }
@@ -1,6 +1,6 @@
-package com.rain.datastructure;
+package com.rain.datastructure.queue;
 
-public class LinkedQueue<T> implements Itrable<T>, Queue<T> {
+public class LinkedQueue<T> implements Iterable<T>, Queue<T> {
 	private java.util.LinkedList<T> list = new java.util.LinkedList<>();
 	
 
@@ -40,7 +40,7 @@ public class LinkedQueue<T> implements Itrable<T>, Queue<T> {
 
 	// Return an iterator to alow the user to traverse
 	// through the elements found the queue
-	public java.util.Itretor<T> iterator(){
+	public java.util.Iterator<T> iterator(){
 		return list.iterator();
 	}
 }
@@ -0,0 +1,119 @@
+package com.rain.datastructure.queue;
+
+// A growable circular buffer of primitive longs. It deliberately doesn't
+// implement Queue<Long>: going through the generic interface boxes every
+// element, and this queue never allocates except when it grows.
+public class LongQueue{
+	private long[] data;
+	private int mask;		// data.length - 1, the capacity is a power of two
+	private int front, end;	// front element and next free slot
+	private int size;
+
+	public LongQueue(){
+		this(16);
+	}
+
+	// capacity is only the initial size, the queue grows as needed
+	public LongQueue(int capacity){
+		if(capacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+		front = end = size = 0;
+		data = new long[roundUpToPowerOfTwo(capacity)];
+		mask = data.length - 1;
+	}
+
+	// Return the number of elements inside the queue
+	public int size(){
+		return size;
+	}
+
+	// Is the queue is empty?
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	// Return the number of slots in the backing array
+	public int capacity(){
+		return data.length;
+	}
+
+	// Add an element to the back of the queue, amortized O(1)
+	public void offer(long value){
+		if(size == data.length) resize(data.length << 1);
+		data[end] = value;
+		end = (end + 1) & mask;
+		size++;
+	}
+
+	// Add len elements of src starting at off to the back of the queue
+	// with at most two array copies, O(len)
+	public void offerAll(long[] src, int off, int len){
+		if(off < 0 || len < 0 || off + len > src.length) throw new IndexOutOfBoundsException();
+		ensureCapacity(size + len);
+
+		int firstRun = Math.min(len, data.length - end);
+		System.arraycopy(src, off, data, end, firstRun);
+		System.arraycopy(src, off + firstRun, data, 0, len - firstRun);
+		end = (end + len) & mask;
+		size += len;
+	}
+
+	// Remove an element from the forward of the queue, O(1)
+	public long poll(){
+		if(isEmpty()) throw new RuntimeException("Queue is empty");
+		long value = data[front];
+		front = (front + 1) & mask;
+		size--;
+
+		return value;
+	}
+
+	// Move up to max elements from the front of the queue into dst starting
+	// at index 0. Returns how many elements were moved, O(max)
+	public int drainTo(long[] dst, int max){
+		int n = Math.min(Math.min(max, size), dst.length);
+		if(n <= 0) return 0;
+
+		int firstRun = Math.min(n, data.length - front);
+		System.arraycopy(data, front, dst, 0, firstRun);
+		System.arraycopy(data, 0, dst, firstRun, n - firstRun);
+		front = (front + n) & mask;
+		size -= n;
+		return n;
+	}
+
+	// Look at the front element without removing it, O(1)
+	public long peek(){
+		if(isEmpty()) throw new RuntimeException("Queue is empty");
+		return data[front];
+	}
+
+	// Remove every element, O(1)
+	public void clear(){
+		front = end = size = 0;
+	}
+
+	// Make sure the queue can hold at least minCapacity elements without growing
+	public void ensureCapacity(int minCapacity){
+		if(minCapacity > data.length) resize(roundUpToPowerOfTwo(minCapacity));
+	}
+
+	// Copy the elements into a new array with the front at index 0, O(n)
+	private void resize(int newCapacity){
+		long[] newData = new long[newCapacity];
+		int firstRun = Math.min(size, data.length - front);
+		System.arraycopy(data, front, newData, 0, firstRun);
+		System.arraycopy(data, 0, newData, firstRun, size - firstRun);
+
+		data = newData;
+		mask = newCapacity - 1;
+		front = 0;
+		end = size & mask;
+	}
+
+	// Smallest power of two >= n (and >= 2)
+	private static int roundUpToPowerOfTwo(int n){
+		if(n <= 2) return 2;
+		if(n > (1 << 30)) throw new IllegalArgumentException("Capacity too large: " + n);
+		return Integer.highestOneBit(n - 1) << 1;
+	}
+}
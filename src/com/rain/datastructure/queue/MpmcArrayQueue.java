@@ -0,0 +1,137 @@
+package com.rain.datastructure.queue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A bounded lock-free queue for any number of producer and consumer threads,
+// after Dmitry Vyukov's bounded MPMC queue. Every slot carries a sequence
+// number that says whose turn it is:
+//
+//   sequence == pos       the slot is free for the producer claiming pos
+//   sequence == pos + 1   the slot holds the element for the consumer claiming pos
+//
+// Producers and consumers claim a position with a CAS on the padded tail or
+// head counter, then only touch their own slot, so the two sides never
+// contend with each other unless the queue is full or empty.
+@SuppressWarnings("unchecked")
+public class MpmcArrayQueue<T> implements Queue<T>{
+	private final T[] buffer;
+	private final AtomicLongArray sequences;
+	private final int mask;
+
+	private final Sequence tail = new Sequence(0);	// next position to offer into
+	private final Sequence head = new Sequence(0);	// next position to poll from
+
+	// The capacity is rounded up to a power of two (at least 2)
+	public MpmcArrayQueue(int capacity){
+		if(capacity <= 0) throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+		if(capacity > (1 << 30)) throw new IllegalArgumentException("Capacity too large: " + capacity);
+		int cap = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+		buffer = (T[]) new Object[cap];
+		sequences = new AtomicLongArray(cap);
+		for(int i = 0; i < cap; i++) sequences.set(i, i);
+		mask = cap - 1;
+	}
+
+	public int capacity(){
+		return buffer.length;
+	}
+
+	@Override
+	public int size(){
+		// Retry until head didn't move while we read tail so the
+		// snapshot is consistent
+		while(true){
+			long h = head.getAcquire();
+			long t = tail.getAcquire();
+			if(head.getAcquire() == h) return (int) Math.max(0, Math.min(t - h, buffer.length));
+		}
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Add an element, throws if the queue is full
+	@Override
+	public void offer(T elem){
+		if(!tryOffer(elem)) throw new RuntimeException("Queue is full");
+	}
+
+	// Add an element if there's room, lock-free
+	public boolean tryOffer(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+
+		long pos;
+		int index;
+		while(true){
+			pos = tail.getAcquire();
+			index = (int) pos & mask;
+			long dif = sequences.get(index) - pos;
+
+			// Slot is free for this position, try to claim it
+			if(dif == 0){
+				if(tail.compareAndSet(pos, pos + 1)) break;
+
+			// The consumer of the previous lap hasn't freed the slot: full
+			} else if(dif < 0){
+				return false;
+			}
+			// Otherwise another producer claimed pos first, reload tail
+		}
+
+		buffer[index] = elem;
+		sequences.lazySet(index, pos + 1);	// Publish to the consumer of pos
+		return true;
+	}
+
+	// Remove the front element, throws if the queue is empty
+	@Override
+	public T poll(){
+		T elem = tryPoll();
+		if(elem == null) throw new RuntimeException("Queue is empty");
+		return elem;
+	}
+
+	// Remove the front element or return null if empty, lock-free
+	public T tryPoll(){
+		long pos;
+		int index;
+		while(true){
+			pos = head.getAcquire();
+			index = (int) pos & mask;
+			long dif = sequences.get(index) - (pos + 1);
+
+			// Slot holds the element for this position, try to claim it
+			if(dif == 0){
+				if(head.compareAndSet(pos, pos + 1)) break;
+
+			// The producer of pos hasn't published yet: empty
+			} else if(dif < 0){
+				return null;
+			}
+			// Otherwise another consumer claimed pos first, reload head
+		}
+
+		T elem = buffer[index];
+		buffer[index] = null;
+		sequences.lazySet(index, pos + mask + 1);	// Free the slot for the next lap
+		return elem;
+	}
+
+	// Return the front element without removing it. With other consumers
+	// running this is only a snapshot, the element may be gone right after.
+	@Override
+	public T peek(){
+		while(true){
+			long pos = head.getAcquire();
+			int index = (int) pos & mask;
+			long dif = sequences.get(index) - (pos + 1);
+			if(dif < 0) throw new RuntimeException("Queue is empty");
+
+			T elem = buffer[index];
+			// Only trust the read if nobody polled pos in the meantime
+			if(dif == 0 && elem != null && head.getAcquire() == pos) return elem;
+		}
+	}
+}
@@ -1,4 +1,4 @@
-package com.rain.datastructure;
+package com.rain.datastructure.queue;
 
 public interface Queue<T>{
 	public int size();
@@ -0,0 +1,58 @@
+package com.rain.datastructure.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// A padded long counter shared between threads. The padding keeps the
+// counter on its own cache line, so a producer bumping the tail doesn't
+// invalidate the line a consumer is bumping the head on (false sharing).
+//
+// 'cached' is a plain field for the owning thread only. The SPSC queue uses
+// it to remember the last value it read from the other side's counter, and
+// it sits in the same padded line as the counter that thread writes.
+abstract class SequenceLeftPad {
+	long p01, p02, p03, p04, p05, p06, p07;
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SequenceValue extends SequenceLeftPad {
+	volatile long value;
+	long cached;
+}
+
+final class Sequence extends SequenceValue {
+	long p21, p22, p23, p24, p25, p26, p27;
+	long p30, p31, p32, p33, p34, p35, p36, p37;
+
+	private static final VarHandle VALUE;
+	static {
+		try {
+			VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+		} catch(ReflectiveOperationException e){
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	Sequence(long initial){
+		value = initial;
+		cached = initial;
+	}
+
+	// Read by the thread that owns the counter, no ordering needed
+	long getPlain(){
+		return (long) VALUE.get(this);
+	}
+
+	long getAcquire(){
+		return (long) VALUE.getAcquire(this);
+	}
+
+	// Publish everything written before this store to whoever reads the counter
+	void setRelease(long v){
+		VALUE.setRelease(this, v);
+	}
+
+	boolean compareAndSet(long expected, long v){
+		return VALUE.compareAndSet(this, expected, v);
+	}
+}
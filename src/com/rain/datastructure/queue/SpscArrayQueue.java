@@ -0,0 +1,104 @@
+package com.rain.datastructure.queue;
+
+// A bounded lock-free queue for exactly one producer thread and one consumer
+// thread. offer() may only be called from the producer and poll()/peek()
+// only from the consumer; size() and isEmpty() are safe from anywhere but
+// are just a snapshot.
+//
+// Each side owns its counter and only reads the other side's counter when
+// its cached copy says the queue looks full (producer) or empty (consumer),
+// so in steady state neither thread touches the other's cache line.
+@SuppressWarnings("unchecked")
+public class SpscArrayQueue<T> implements Queue<T>{
+	private final T[] buffer;
+	private final int mask;
+
+	// tail is written by the producer, head by the consumer. tail.cached is
+	// the producer's last view of head and head.cached the consumer's last
+	// view of tail.
+	private final Sequence tail = new Sequence(0);
+	private final Sequence head = new Sequence(0);
+
+	// The capacity is rounded up to a power of two
+	public SpscArrayQueue(int capacity){
+		if(capacity <= 0) throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+		if(capacity > (1 << 30)) throw new IllegalArgumentException("Capacity too large: " + capacity);
+		int cap = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		buffer = (T[]) new Object[cap];
+		mask = cap - 1;
+	}
+
+	public int capacity(){
+		return buffer.length;
+	}
+
+	@Override
+	public int size(){
+		// Read head first so that size never goes negative
+		long h = head.getAcquire();
+		long t = tail.getAcquire();
+		return (int) Math.min(t - h, buffer.length);
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	// Add an element, throws if the queue is full. Producer only.
+	@Override
+	public void offer(T elem){
+		if(!tryOffer(elem)) throw new RuntimeException("Queue is full");
+	}
+
+	// Add an element if there's room, O(1). Producer only.
+	public boolean tryOffer(T elem){
+		if(elem == null) throw new IllegalArgumentException();
+
+		long t = tail.getPlain();
+		if(t - tail.cached >= buffer.length){
+			// Looks full, refresh our view of the consumer's progress
+			tail.cached = head.getAcquire();
+			if(t - tail.cached >= buffer.length) return false;
+		}
+
+		buffer[(int) t & mask] = elem;
+		tail.setRelease(t + 1);	// Publishes the element to the consumer
+		return true;
+	}
+
+	// Remove the front element, throws if the queue is empty. Consumer only.
+	@Override
+	public T poll(){
+		T elem = tryPoll();
+		if(elem == null) throw new RuntimeException("Queue is empty");
+		return elem;
+	}
+
+	// Remove the front element or return null if empty, O(1). Consumer only.
+	public T tryPoll(){
+		long h = head.getPlain();
+		if(h >= head.cached){
+			// Looks empty, refresh our view of the producer's progress
+			head.cached = tail.getAcquire();
+			if(h >= head.cached) return null;
+		}
+
+		int index = (int) h & mask;
+		T elem = buffer[index];
+		buffer[index] = null;
+		head.setRelease(h + 1);	// Hands the slot back to the producer
+		return elem;
+	}
+
+	// Return the front element without removing it. Consumer only.
+	@Override
+	public T peek(){
+		long h = head.getPlain();
+		if(h >= head.cached){
+			head.cached = tail.getAcquire();
+			if(h >= head.cached) throw new RuntimeException("Queue is empty");
+		}
+		return buffer[(int) h & mask];
+	}
+}
@@ -0,0 +1,170 @@
+package com.rain.datastructure.unionfind;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// A thread safe union find that many threads can unify into at once.
+//
+// Every element gets a random priority up front and a root is only ever
+// linked under a root of higher priority (randomized linking by index, see
+// Jayanti & Tarjan). Because parent priorities strictly increase along any
+// path, two threads can never link two roots under each other and form a
+// cycle, and find() terminates after at most 'size' steps even while other
+// threads are linking, which makes it wait-free.
+public class ConcurrentUnionFind{
+    // Marks a size slot whose root has been linked under another root
+    private static final int MOVED = -1;
+
+    // The numbers of elements in this union find
+    private final int size;
+
+    // Link priority of each element, never changes after construction
+    private final int[] priority;
+
+    // id[i] point to the parent of i, if id[i] == i then i is a root node
+    private final AtomicIntegerArray id;
+
+    // Used to track the size of each of the component, MOVED once the root is linked
+    private final AtomicIntegerArray sz;
+
+    // Tracks the numbers of components in the union find
+    private final AtomicInteger numComponents;
+
+    public ConcurrentUnionFind(int size){
+        this(size, 0x9E3779B97F4A7C15L);
+    }
+
+    public ConcurrentUnionFind(int size, long seed){
+        if(size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+        this.size = size;
+        numComponents = new AtomicInteger(size);
+        id = new AtomicIntegerArray(size);
+        sz = new AtomicIntegerArray(size);
+        priority = new int[size];
+
+        for(int i = 0; i < size; i++){
+            id.set(i, i);   // Link to itself(self root)
+            sz.set(i, 1);   // Each component is originally of size one
+            priority[i] = i;
+        }
+
+        // Fisher-Yates shuffle so the priorities are a random permutation
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for(int i = size - 1; i > 0; i--){
+            int j = rnd.nextInt(i + 1);
+            int tmp = priority[i];
+            priority[i] = priority[j];
+            priority[j] = tmp;
+        }
+    }
+
+    // Find which component/set 'p' belongs to using path halving: every
+    // node we pass is pointed at its grandparent with a CAS. A failed CAS
+    // just means another thread already moved it higher up, so ignore it.
+    public int find(int p){
+        while(true){
+            int parent = id.get(p);
+            if(parent == p) return p;
+
+            int grand = id.get(parent);
+            if(grand == parent) return parent;
+
+            id.compareAndSet(p, parent, grand);
+            p = grand;
+        }
+    }
+
+    // Return whether or not the element 'p' and 'q' are in the same components/set.
+    public boolean connected(int p, int q){
+        while(true){
+            int root1 = find(p);
+            int root2 = find(q);
+            if(root1 == root2) return true;
+
+            // If root1 is still a root the sets really were apart at this
+            // point, otherwise it got linked meanwhile so look again
+            if(id.get(root1) == root1) return false;
+        }
+    }
+
+    // Return the size of the components/set 'p' belongs to. Exact whenever
+    // no unify is in flight, a snapshot otherwise.
+    public int componentSize(int p){
+        while(true){
+            int root = find(p);
+            int s = sz.get(root);
+            if(s != MOVED) return s;
+        }
+    }
+
+    // Return the numbers of elements in this UnionFind/Disjoint set
+    public int size(){
+        return size;
+    }
+
+    // Return the numbers of remaining components/sets
+    public int components(){
+        return numComponents.get();
+    }
+
+    // Unify the components/sets containing elements 'p' and 'q'. Safe to
+    // call from any number of threads.
+    public void unify(int p, int q){
+        while(true){
+            int root1 = find(p);
+            int root2 = find(q);
+            if(root1 == root2) return;
+
+            // Always link the lower priority root under the higher one
+            if(priority[root1] > priority[root2]){
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+
+            // Only succeeds if root1 is still a root. Whoever wins the CAS
+            // merged two different sets, so the count drops exactly once.
+            if(id.compareAndSet(root1, root1, root2)){
+                numComponents.decrementAndGet();
+                moveSize(root1, root2);
+                return;
+            }
+        }
+    }
+
+    // Unify p[i] with q[i] for every i using all cores of the common
+    // fork/join pool. The edges are independent so this scales with the
+    // number of cores until the CAS contention on shared roots kicks in.
+    public void unifyAll(int[] p, int[] q){
+        if(p.length != q.length) throw new IllegalArgumentException("p and q must have the same length");
+        IntStream.range(0, p.length).parallel().forEach(i -> unify(p[i], q[i]));
+    }
+
+    // The old root was just linked under 'to': seal its size slot so no
+    // one can add to it any more and carry the sealed size upwards
+    private void moveSize(int from, int to){
+        while(true){
+            int s = sz.get(from);
+            if(sz.compareAndSet(from, s, MOVED)){
+                addSize(to, s);
+                return;
+            }
+        }
+    }
+
+    // Add 's' to the size of the root of 'node'. If 'node' has been linked
+    // and sealed in the meantime, follow its parent and try there instead.
+    private void addSize(int node, int s){
+        while(true){
+            int cur = sz.get(node);
+            if(cur == MOVED){
+                node = id.get(node);
+            } else if(sz.compareAndSet(node, cur, cur + s)){
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.rain.datastructure.unionfind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+// Connected components over an edge list with 'n' vertices labelled 0..n-1.
+//
+// The edges are split into partitions and every partition is unified into a
+// UnionFind of its own, so the workers never touch shared state. The partial
+// forests are then merged pairwise in a tree: merging forest b into a
+// unifies every vertex with its root in b, O(n). Afterwards every vertex gets
+// a compact component label in 0..count()-1.
+//
+// A partial forest costs O(n) memory (8 bytes per vertex) and O(n) to
+// merge, so it only pays off when it absorbs at least n edges. The number of
+// forests is therefore at most edges/n and at most the parallelism, and with
+// one forest this is the plain single threaded UnionFind.
+public class ConnectedComponents{
+    // Number of edges read from an EdgeSource at a time
+    private static final int BATCH_SIZE = 1 << 20;
+
+    // Supplies edges in batches for edge lists too large to hold in memory
+    public interface EdgeSource{
+        // Fill p[0..k) and q[0..k) with the next k edges (k <= p.length)
+        // and return k, or 0 once there are no edges left
+        int next(int[] p, int[] q);
+    }
+
+    // labels[v] is the component of vertex v, in 0..count()-1
+    private final int[] labels;
+
+    // sizes[c] is the number of vertices in component c
+    private final int[] sizes;
+
+    private ConnectedComponents(int[] labels, int[] sizes){
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    // Compute the components of the graph with edges (p[i], q[i]) using the
+    // common fork/join pool's parallelism
+    public static ConnectedComponents of(int n, int[] p, int[] q){
+        return of(n, p, q, ForkJoinPool.commonPool().getParallelism());
+    }
+
+    // Compute the components of the graph with edges (p[i], q[i]) with at
+    // most 'parallelism' partial forests
+    public static ConnectedComponents of(int n, int[] p, int[] q, int parallelism){
+        if(p.length != q.length) throw new IllegalArgumentException("p and q must have the same length");
+        if(parallelism < 1) throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+
+        int parts = (int) Math.max(1, Math.min(parallelism, (long) p.length / Math.max(1, n)));
+        UnionFind[] forests = forests(n, parts);
+        unify(forests, p, q, p.length);
+        return label(merge(forests));
+    }
+
+    // Compute the components of the graph whose edges are streamed from
+    // 'source', using the common fork/join pool's parallelism
+    public static ConnectedComponents of(int n, EdgeSource source){
+        return of(n, source, ForkJoinPool.commonPool().getParallelism());
+    }
+
+    // Compute the components of the graph whose edges are streamed from
+    // 'source' with 'parallelism' partial forests, which live until the end
+    // of the stream. The next batch is read while the previous one is
+    // unified.
+    public static ConnectedComponents of(int n, EdgeSource source, int parallelism){
+        if(parallelism < 1) throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+
+        UnionFind[] forests = forests(n, parallelism);
+        int[][] p = {new int[BATCH_SIZE], new int[BATCH_SIZE]};
+        int[][] q = {new int[BATCH_SIZE], new int[BATCH_SIZE]};
+
+        ForkJoinTask<?> pending = null;
+        for(int buf = 0; ; buf ^= 1){
+            int k = source.next(p[buf], q[buf]);
+            if(pending != null) pending.join();
+            if(k <= 0) break;
+            int[] bp = p[buf], bq = q[buf];
+            pending = ForkJoinPool.commonPool().submit(() -> unify(forests, bp, bq, k));
+        }
+
+        return label(merge(forests));
+    }
+
+    // Return the number of components
+    public int count(){
+        return sizes.length;
+    }
+
+    // Return the component of vertex 'v', in 0..count()-1
+    public int label(int v){
+        return labels[v];
+    }
+
+    // Return the size of the component vertex 'v' belongs to
+    public int componentSize(int v){
+        return sizes[labels[v]];
+    }
+
+    // Component label of every vertex. The array is not copied.
+    public int[] labels(){
+        return labels;
+    }
+
+    // Size of every component indexed by label. The array is not copied.
+    public int[] sizes(){
+        return sizes;
+    }
+
+    private static UnionFind[] forests(int n, int parts){
+        UnionFind[] forests = new UnionFind[parts];
+        for(int i = 0; i < parts; i++) forests[i] = new UnionFind(n);
+        return forests;
+    }
+
+    // Unify edges [0, m) with the i-th of every forests.length slices going
+    // into forests[i], one worker per forest
+    private static void unify(UnionFind[] forests, int[] p, int[] q, int m){
+        int parts = forests.length;
+        if(parts == 1){
+            for(int i = 0; i < m; i++) forests[0].unify(p[i], q[i]);
+            return;
+        }
+        IntStream.range(0, parts).parallel().forEach(part -> {
+            UnionFind uf = forests[part];
+            int from = (int) ((long) m * part / parts);
+            int to = (int) ((long) m * (part + 1) / parts);
+            for(int i = from; i < to; i++) uf.unify(p[i], q[i]);
+        });
+    }
+
+    // Merge the forests pairwise, log2(forests.length) rounds with the
+    // merges of a round running in parallel. Return the merged forest.
+    private static UnionFind merge(UnionFind[] forests){
+        for(int step = 1; step < forests.length; step <<= 1){
+            int span = step << 1;
+            IntStream.range(0, (forests.length + span - 1) / span).parallel().forEach(k -> {
+                int a = k * span, b = a + span / 2;
+                if(b < forests.length){
+                    mergeInto(forests[a], forests[b]);
+                    forests[b] = null;
+                }
+            });
+        }
+        return forests[0];
+    }
+
+    // Unify every vertex of 'into' with its root in 'from', O(n)
+    private static void mergeInto(UnionFind into, UnionFind from){
+        for(int v = 0; v < from.size(); v++){
+            int root = from.find(v);
+            if(root != v) into.unify(v, root);
+        }
+    }
+
+    // Resolve every vertex to its root, then number the roots in vertex
+    // order and count the members of each component
+    private static ConnectedComponents label(UnionFind uf){
+        int n = uf.size();
+        int[] labels = new int[n];
+        for(int v = 0; v < n; v++) labels[v] = uf.find(v);
+
+        // Roots are the only vertices labelled with themselves, so number
+        // them first and then map every vertex's root to that number
+        int[] compact = new int[n];
+        int count = 0;
+        for(int v = 0; v < n; v++){
+            if(labels[v] == v) compact[v] = count++;
+        }
+
+        int[] sizes = new int[count];
+        for(int v = 0; v < n; v++){
+            labels[v] = compact[labels[v]];
+            sizes[labels[v]]++;
+        }
+
+        return new ConnectedComponents(labels, sizes);
+    }
+}
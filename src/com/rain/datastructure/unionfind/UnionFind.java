@@ -1,3 +1,4 @@
+package com.rain.datastructure.unionfind;
 
 public class UnionFind{
     // The numbers of elements in this union find